@@ -0,0 +1,74 @@
+package com.example.market.api;
+
+import com.example.market.exception.MarketAppException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.example.market.exception.ErrorCode.INVALID_CURSOR;
+import static com.example.market.exception.ErrorCode.INVALID_LIMIT;
+
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class CursorResponse<T> {
+
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public CursorResponse(final List<T> content, final boolean hasNext, final String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> CursorResponse<T> of(final Slice<T> slice, final Function<T, Long> idExtractor) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return new CursorResponse<>(content, false, null);
+        }
+
+        Long lastId = idExtractor.apply(content.get(content.size() - 1));
+        return new CursorResponse<>(content, true, encode(lastId));
+    }
+
+    public static String encode(final Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 첫 페이지 요청(after 값이 비어 있음)이면 null 을 반환한다.
+     */
+    public static Long decode(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new MarketAppException(INVALID_CURSOR, INVALID_CURSOR.getMessage());
+        }
+    }
+
+    /**
+     * 한 번에 조회하는 개수는 1 이상 MAX_LIMIT 이하만 받는다.
+     */
+    public static int checkLimit(final int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new MarketAppException(INVALID_LIMIT, INVALID_LIMIT.getMessage());
+        }
+        return limit;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.market.api.controller.chat;
 
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.chat.request.ChatRoomCreateDto;
 import com.example.market.api.controller.chat.request.ChatSenderDto;
+import com.example.market.api.controller.chat.response.ChatResponse;
 import com.example.market.api.controller.chat.response.ChatRoomCreateResponseDto;
 import com.example.market.api.controller.chat.response.ChatRoomListResponseDto;
 import com.example.market.service.chat.ChatService;
@@ -34,6 +36,23 @@ public class ChatRestController {
         return ResponseEntity.ok(chatService.createChatRoom(createDto, userId));
     }
 
+    @GetMapping("/rooms/{roomId}/messages")
+    public ResponseEntity<CursorResponse<ChatResponse>> getChatHistory(@PathVariable Long roomId,
+                                                                       @RequestParam(value = "after", defaultValue = "") String after,
+                                                                       @RequestParam(value = "limit", defaultValue = "50") Integer limit,
+                                                                       Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        return ResponseEntity.ok(chatService.readChatHistory(roomId, userId, CursorResponse.decode(after), CursorResponse.checkLimit(limit)));
+    }
+
+    @PostMapping("/rooms/{roomId}/read")
+    public ResponseEntity<Void> readChatRoom(@PathVariable Long roomId,
+                                             Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        chatService.readChatRoom(roomId, userId);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/username")
     public ResponseEntity<ChatSenderDto> getRoomName(Authentication authentication) {
         Long userId = Long.parseLong(authentication.getName());
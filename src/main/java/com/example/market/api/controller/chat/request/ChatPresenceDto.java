@@ -0,0 +1,24 @@
+package com.example.market.api.controller.chat.request;
+
+import lombok.*;
+
+/**
+ * 입력 중/읽음 표시. 채팅 메시지가 아니므로 chat 테이블에 저장하지 않는다.
+ * lastReadChatId 가 없으면 읽음을 받은 시점의 채팅방 마지막 메시지까지 읽은 것으로 본다.
+ * writer 는 서버가 세션 사용자로 채워서 전달한다. 클라이언트가 보낸 값은 쓰지 않는다.
+ */
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Getter
+public class ChatPresenceDto {
+
+    private Long roomId;
+    private String writer;
+    private Type type;
+    private Long lastReadChatId;
+
+    public enum Type {
+        TYPING, READ
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.market.api.controller.chat.response;
+
+import com.example.market.domain.chat.Chat;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class ChatResponse {
+
+    private Long id;
+    private Long roomId;
+    private String writer;
+    private String content;
+    private LocalDateTime createdAt;
+
+    @Builder
+    public ChatResponse(final Long id, final Long roomId, final String writer, final String content, final LocalDateTime createdAt) {
+        this.id = id;
+        this.roomId = roomId;
+        this.writer = writer;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    public static ChatResponse of(final Chat chat) {
+        return ChatResponse.builder()
+                .id(chat.getId())
+                .roomId(chat.getChatRoom().getId())
+                .writer(chat.getWriter())
+                .content(chat.getContent())
+                .createdAt(chat.getCreatedAt())
+                .build();
+    }
+}
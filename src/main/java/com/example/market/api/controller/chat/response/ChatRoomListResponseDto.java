@@ -1,10 +1,12 @@
 package com.example.market.api.controller.chat.response;
 
-import com.example.market.domain.chat.ChatRoom;
+import com.example.market.domain.chat.ChatRoomListView;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class ChatRoomListResponseDto {
@@ -14,12 +16,24 @@ public class ChatRoomListResponseDto {
     private String buyer;
     private Long itemId;
     private String itemName;
+    private String lastMessage;
+    private LocalDateTime lastMessageAt;
+    private long unreadCount;
+
+    public ChatRoomListResponseDto(final Long id, final String seller, final String buyer, final Long itemId, final String itemName,
+                                   final String lastMessage, final LocalDateTime lastMessageAt, final long unreadCount) {
+        this.id = id;
+        this.seller = seller;
+        this.buyer = buyer;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.lastMessage = lastMessage;
+        this.lastMessageAt = lastMessageAt;
+        this.unreadCount = unreadCount;
+    }
 
-    public ChatRoomListResponseDto(final ChatRoom chatRoom) {
-        this.id = chatRoom.getId();
-        this.seller = chatRoom.getSeller().getUsername();
-        this.buyer = chatRoom.getBuyer().getUsername();
-        this.itemId = chatRoom.getItem().getId();
-        this.itemName = chatRoom.getItem().getTitle();
+    public static ChatRoomListResponseDto of(final ChatRoomListView view) {
+        return new ChatRoomListResponseDto(view.getId(), view.getSeller(), view.getBuyer(), view.getItemId(), view.getItemName(),
+                view.getLastMessage(), view.getLastMessageAt(), view.getUnreadCount() == null ? 0L : view.getUnreadCount());
     }
 }
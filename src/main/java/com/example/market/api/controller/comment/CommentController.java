@@ -1,6 +1,7 @@
 package com.example.market.api.controller.comment;
 
 import com.example.market.api.ApiResponse;
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.comment.request.CommentCreateRequestDto;
 import com.example.market.api.controller.comment.request.CommentReplyRequestDto;
 import com.example.market.api.controller.comment.request.CommentUpdateRequestDto;
@@ -38,6 +39,14 @@ public class CommentController {
         return ApiResponse.ok(commentService.readCommentList(itemId, page, limit));
     }
 
+    @GetMapping(value = "/items/{itemId}/comments", params = "after")
+    public ApiResponse<CursorResponse<CommentResponse>> readCommentListByCursor(@PathVariable Long itemId,
+                                                                                @RequestParam(value = "after") String after,
+                                                                                @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+
+        return ApiResponse.ok(commentService.readCommentListByCursor(itemId, CursorResponse.decode(after), limit));
+    }
+
     @PutMapping("/items/{itemId}/comments/{commentId}")
     public ApiResponse<CommentResponse> updateComment(@PathVariable Long itemId,
                                             @PathVariable Long commentId,
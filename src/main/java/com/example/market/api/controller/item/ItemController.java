@@ -1,19 +1,25 @@
 package com.example.market.api.controller.item;
 
 import com.example.market.api.ApiResponse;
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.item.request.ItemCreateRequestDto;
 import com.example.market.api.controller.item.request.ItemStatusUpdateRequest;
 import com.example.market.api.controller.item.request.ItemUpdateRequestDto;
 import com.example.market.api.controller.item.response.ItemResponse;
+import com.example.market.domain.item.ItemStatus;
 import com.example.market.service.item.ItemService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
@@ -36,6 +42,13 @@ public class ItemController {
         return ApiResponse.ok(itemService.readItemList(page, limit));
     }
 
+    @GetMapping(value = "/items", params = "after")
+    public ApiResponse<CursorResponse<ItemResponse>> readItemListByCursor(@RequestParam(value = "after") String after,
+                                                                          @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+
+        return ApiResponse.ok(itemService.readItemListByCursor(CursorResponse.decode(after), CursorResponse.checkLimit(limit)));
+    }
+
     @GetMapping("/itemsTest")
     public ApiResponse<Page<ItemResponse>> readItemListTest(final Authentication authentication,
                                                             @RequestParam(value = "page", defaultValue = "0") Integer page,
@@ -45,6 +58,18 @@ public class ItemController {
         return ApiResponse.ok(itemService.readItemListTest(userId, page, limit));
     }
 
+    @GetMapping("/items/search")
+    public ApiResponse<Page<ItemResponse>> searchItems(final Authentication authentication,
+                                                       @RequestParam(value = "q") String query,
+                                                       @RequestParam(value = "status", defaultValue = "") List<ItemStatus> statuses,
+                                                       @RequestParam(value = "nearby", defaultValue = "false") boolean nearby,
+                                                       @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                                       @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+
+        Long userId = authentication != null ? Long.parseLong(authentication.getName()) : null;
+        return ApiResponse.ok(itemService.searchItems(query, statuses, nearby, userId, page, limit));
+    }
+
     @GetMapping("/items/{itemId}")
     public ApiResponse<ItemResponse> readItemOne(@PathVariable Long itemId) {
 
@@ -77,6 +102,15 @@ public class ItemController {
         return ApiResponse.ok(itemService.updateItemImage(itemId, image, userId));
     }
 
+    @PutMapping(value = "/items/{itemId}/image", consumes = "image/*")
+    public ApiResponse<ItemResponse> uploadItemImage(@PathVariable Long itemId,
+                                                     @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                     HttpServletRequest request,
+                                                     Authentication authentication) throws IOException {
+        Long userId = Long.parseLong(authentication.getName());
+        return ApiResponse.ok(itemService.updateItemImage(itemId, request.getInputStream(), contentType.getSubtype(), userId));
+    }
+
     @PutMapping("/items/status/{itemId}")
     public ApiResponse<ItemResponse> updateItemStatus(@PathVariable final Long itemId,
                                                       @Valid @RequestBody final ItemStatusUpdateRequest request,
@@ -102,6 +136,24 @@ public class ItemController {
         return ApiResponse.ok(itemService.readMyItemListForSold(userId, page));
     }
 
+    @GetMapping(value = "/items-sale", params = "after")
+    public ApiResponse<CursorResponse<ItemResponse>> readMyItemListForSaleByCursor(final Authentication authentication,
+                                                                                   @RequestParam(value = "after") String after,
+                                                                                   @RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+        Long userId = Long.parseLong(authentication.getName());
+        return ApiResponse.ok(itemService.readMyItemListForSaleByCursor(userId, CursorResponse.decode(after), limit));
+    }
+
+    @GetMapping(value = "/items-sold", params = "after")
+    public ApiResponse<CursorResponse<ItemResponse>> readMyItemListForSoldByCursor(final Authentication authentication,
+                                                                                   @RequestParam(value = "after") String after,
+                                                                                   @RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+        Long userId = Long.parseLong(authentication.getName());
+        return ApiResponse.ok(itemService.readMyItemListForSoldByCursor(userId, CursorResponse.decode(after), limit));
+    }
+
     @GetMapping("/items-sale/{userId}")
     public ApiResponse<Page<ItemResponse>> readUserItemListForSale(final Authentication authentication,
                                                                    @RequestParam(value = "page", defaultValue = "0") int page,
@@ -17,15 +17,22 @@ public class ItemResponse {
     private String username;
     private ItemStatus status;
     private int minPriceWanted;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private String detailUrl;
 
     @Builder
-    public ItemResponse(final Long id, final String title, final String description, final String username, final ItemStatus status, final int minPriceWanted) {
+    public ItemResponse(final Long id, final String title, final String description, final String username, final ItemStatus status, final int minPriceWanted,
+                        final String imageUrl, final String thumbnailUrl, final String detailUrl) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.username = username;
         this.status = status;
         this.minPriceWanted = minPriceWanted;
+        this.imageUrl = imageUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.detailUrl = detailUrl;
     }
 
     public static ItemResponse of(final Item item) {
@@ -36,6 +43,9 @@ public class ItemResponse {
                 .username(item.getUser().getUsername())
                 .status(item.getStatus())
                 .minPriceWanted(item.getMinPriceWanted())
+                .imageUrl(item.getImageUrl())
+                .thumbnailUrl(item.getThumbnailUrl())
+                .detailUrl(item.getDetailUrl())
                 .build();
     }
 }
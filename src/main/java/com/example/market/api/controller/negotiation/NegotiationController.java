@@ -1,6 +1,7 @@
 package com.example.market.api.controller.negotiation;
 
 import com.example.market.api.ApiResponse;
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.negotiation.request.NegotiationCreateRequestDto;
 import com.example.market.api.controller.negotiation.response.NegotiationResponse;
 import com.example.market.service.negotiation.NegotiationService;
@@ -11,6 +12,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RequiredArgsConstructor
 @RestController
@@ -27,6 +30,33 @@ public class NegotiationController {
         return ApiResponse.ok(negotiationService.createNegotiation(itemId, createDto, userId));
     }
 
+    @PostMapping("/items/{itemId}/proposals/{proposalId}/accept")
+    public ApiResponse<NegotiationResponse> acceptNegotiation(@PathVariable Long itemId,
+                                                              @PathVariable Long proposalId,
+                                                              Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+
+        return ApiResponse.ok(negotiationService.acceptNegotiation(itemId, proposalId, userId));
+    }
+
+    @PostMapping("/items/{itemId}/proposals/{proposalId}/confirm")
+    public ApiResponse<NegotiationResponse> confirmNegotiation(@PathVariable Long itemId,
+                                                               @PathVariable Long proposalId,
+                                                               Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+
+        return ApiResponse.ok(negotiationService.confirmNegotiation(itemId, proposalId, userId));
+    }
+
+    @GetMapping("/items/{itemId}/negotiations/top")
+    public ApiResponse<List<NegotiationResponse>> getTopNegotiations(@PathVariable Long itemId,
+                                                                     @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                                                     Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+
+        return ApiResponse.ok(negotiationService.getTopNegotiations(itemId, userId, limit));
+    }
+
     @GetMapping("/items/received/proposals")
     public ApiResponse<Page<NegotiationResponse>> getReceivedNegotiationItems(final Authentication authentication,
                                                                               @RequestParam(value = "page", defaultValue = "0") int page) {
@@ -34,10 +64,26 @@ public class NegotiationController {
         return ApiResponse.ok(negotiationService.getReceivedNegotiationItems(userId, page));
     }
 
+    @GetMapping(value = "/items/received/proposals", params = "after")
+    public ApiResponse<CursorResponse<NegotiationResponse>> getReceivedNegotiationItemsByCursor(final Authentication authentication,
+                                                                                                @RequestParam(value = "after") String after,
+                                                                                                @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        Long userId = Long.parseLong(authentication.getName());
+        return ApiResponse.ok(negotiationService.getReceivedNegotiationItemsByCursor(userId, CursorResponse.decode(after), CursorResponse.checkLimit(limit)));
+    }
+
     @GetMapping("/items/sent/proposals")
     public ApiResponse<Page<NegotiationResponse>> getSentNegotiationItems(final Authentication authentication,
                                                                           @RequestParam(value = "page", defaultValue = "0") int page) {
         Long userId = Long.parseLong(authentication.getName());
         return ApiResponse.ok(negotiationService.getSentNegotiationItems(userId, page));
     }
+
+    @GetMapping(value = "/items/sent/proposals", params = "after")
+    public ApiResponse<CursorResponse<NegotiationResponse>> getSentNegotiationItemsByCursor(final Authentication authentication,
+                                                                                            @RequestParam(value = "after") String after,
+                                                                                            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        Long userId = Long.parseLong(authentication.getName());
+        return ApiResponse.ok(negotiationService.getSentNegotiationItemsByCursor(userId, CursorResponse.decode(after), CursorResponse.checkLimit(limit)));
+    }
 }
@@ -16,14 +16,23 @@ public class NegotiationResponse {
     private NegotiationStatus status;
     private String username;
     private Long itemId;
+    private String itemTitle;
+    private String counterpartNickname; // 받은 제안이면 구매자, 보낸 제안이면 판매자
 
-    @Builder
     public NegotiationResponse(final Long id, final int suggestedPrice, final NegotiationStatus status, final String username, final Long itemId) {
+        this(id, suggestedPrice, status, username, itemId, null, null);
+    }
+
+    @Builder
+    public NegotiationResponse(final Long id, final int suggestedPrice, final NegotiationStatus status, final String username, final Long itemId,
+                               final String itemTitle, final String counterpartNickname) {
         this.id = id;
         this.suggestedPrice = suggestedPrice;
         this.status = status;
         this.username = username;
         this.itemId = itemId;
+        this.itemTitle = itemTitle;
+        this.counterpartNickname = counterpartNickname;
     }
 
     public static NegotiationResponse of(final Negotiation negotiation) {
@@ -0,0 +1,33 @@
+package com.example.market.config;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * market.chat.broker.mode=embedded 일 때 STOMP 를 받는 Artemis 브로커를 같은 프로세스에 띄운다.
+ * 외부 브로커 없이 relay 경로(/topic/{roomId} fan-out)를 그대로 확인하기 위한 용도다.
+ * Artemis 는 bootRun 과 테스트 클래스패스에만 있으므로 운영 jar 에서는 이 설정이 빠지고 simple/relay 만 쓸 수 있다.
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnClass(name = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ")
+@ConditionalOnProperty(name = "market.chat.broker.mode", havingValue = "embedded")
+public class EmbeddedStompBrokerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker(@Value("${market.chat.broker.relay-port:61613}") final int port) throws Exception {
+        Configuration configuration = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                // /topic/ 으로 시작하는 목적지는 구독자 모두에게 전달(multicast)한다.
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + port + "?protocols=STOMP;multicastPrefix=/topic/");
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        return broker;
+    }
+}
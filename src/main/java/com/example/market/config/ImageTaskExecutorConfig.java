@@ -0,0 +1,43 @@
+package com.example.market.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImageTaskExecutorConfig {
+
+    /**
+     * 이미지 리사이즈 전용 스레드 풀. ItemImageVariantGenerator 만 @Qualifier 로 주입받아 쓴다.
+     * CPU 와 메모리를 많이 쓰는 작업이라 풀과 큐 크기를 제한한다. 큐가 가득 차면 요청 스레드로 넘기지 않고 거절한다(TaskRejectedException).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageTaskExecutor(@Value("${market.image.pool-size:2}") final int poolSize,
+                                                    @Value("${market.image.queue-capacity:100}") final int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("item-image-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Executor 빈이 하나라도 있으면 스프링 부트의 기본 applicationTaskExecutor 가 만들어지지 않아서
+     * 다른 비동기 작업이 이미지 풀로 들어가게 된다. spring.task.execution.* 설정을 따르는 기본 풀을 직접 등록한다.
+     */
+    @Lazy
+    @Primary
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(final TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.market.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * @Scheduled 작업(미디어 GC, 읽음 위치 저장, 제안 만료)이 한 스레드를 나눠 쓰면 느린 작업이 나머지를 늦추므로
+ * spring.task.scheduling.pool.size 크기의 스케줄러를 쓴다.
+ * 웹소켓 브로커도 TaskScheduler 빈을 만들기 때문에 어느 스케줄러를 쓸지 명시한다.
+ */
+@RequiredArgsConstructor
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final TaskSchedulerBuilder taskSchedulerBuilder;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        return taskSchedulerBuilder.build();
+    }
+
+    @Override
+    public void configureTasks(final ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler());
+    }
+}
@@ -39,8 +39,12 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers("/", "/css/**", "/js/**")
                         .permitAll()
+                        .requestMatchers(HttpMethod.GET, "/items/*/negotiations/top", "/items/received/**", "/items/sent/**")
+                        .authenticated()
                         .requestMatchers(HttpMethod.GET, "/items/**")
                         .permitAll()
+                        .requestMatchers("/actuator/loggers/**")
+                        .hasRole("ADMIN")
                         .anyRequest()
 //                        .permitAll()
                         .authenticated()
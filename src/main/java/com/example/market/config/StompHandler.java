@@ -1,5 +1,6 @@
 package com.example.market.config;
 
+import com.example.market.exception.MarketAppException;
 import com.example.market.jwt.TokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.Message;
@@ -7,25 +8,41 @@ import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import java.util.Objects;
+import static com.example.market.exception.ErrorCode.INVALID_TOKEN;
 
 @RequiredArgsConstructor
 @Component
 public class StompHandler implements ChannelInterceptor {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final TokenProvider tokenProvider;
 
+    /**
+     * CONNECT 할 때 토큰을 검증하고, 통과하면 세션 사용자(Principal)로 등록한다.
+     * 이후 프레임은 이 세션 사용자로 처리하므로 토큰이 없거나 유효하지 않으면 연결을 거부한다.
+     */
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
-        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
-        System.out.println("message:" + message);
-        System.out.println("헤더 : " + message.getHeaders());
-        System.out.println("토큰" + accessor.getNativeHeader("Authorization"));
-        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
-            tokenProvider.validToken(Objects.requireNonNull(accessor.getFirstNativeHeader("Authorization")));
+        // CONNECT 가 아닌 프레임은 헤더 접근자를 만들지 않고 넘긴다.
+        if (!StompCommand.CONNECT.equals(message.getHeaders().get(StompHeaderAccessor.COMMAND_HEADER))) {
+            return message;
+        }
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        String token = accessor == null ? null : accessor.getFirstNativeHeader("Authorization");
+        if (token != null && token.startsWith(BEARER_PREFIX)) {
+            token = token.substring(BEARER_PREFIX.length());
+        }
+        Authentication authentication = token == null || token.isBlank() ? null : tokenProvider.authenticate(token);
+        if (authentication == null) {
+            throw new MarketAppException(INVALID_TOKEN, INVALID_TOKEN.getMessage());
         }
+        accessor.setUser(authentication);
         return message;
     }
 }
@@ -0,0 +1,47 @@
+package com.example.market.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * STOMP 프레임 추적 로그. market.stomp.trace 로거가 DEBUG 일 때만 sample-rate 비율로 남긴다.
+ * 로그 레벨은 /actuator/loggers/market.stomp.trace 로 운영 중에 바꿀 수 있고(ADMIN 만),
+ * 꺼져 있으면 레벨 확인 한 번만 하고 문자열을 만들지 않는다. Authorization 같은 헤더 값은 남기지 않는다.
+ */
+@Slf4j(topic = "market.stomp.trace")
+@Component
+public class StompTraceInterceptor implements ChannelInterceptor {
+
+    private final double sampleRate;
+
+    public StompTraceInterceptor(@Value("${market.chat.trace.sample-rate:0.01}") final double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Message<?> preSend(final Message<?> message, final MessageChannel channel) {
+        if (log.isDebugEnabled() && sampled()) {
+            MessageHeaders headers = message.getHeaders();
+            log.debug("stomp command={} type={} destination={} session={} payloadBytes={}",
+                    headers.get(StompHeaderAccessor.COMMAND_HEADER),
+                    SimpMessageHeaderAccessor.getMessageType(headers),
+                    SimpMessageHeaderAccessor.getDestination(headers),
+                    SimpMessageHeaderAccessor.getSessionId(headers),
+                    message.getPayload() instanceof byte[] payload ? payload.length : -1);
+        }
+        return message;
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.market.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 웹소켓 채널 스레드 풀과 세션별 전송 제한.
+ *
+ * 기본 설정은 큐가 무제한이라 느린 클라이언트가 있으면 메시지가 계속 쌓인다. 풀과 큐 크기를 제한하고,
+ * 세션마다 전송 버퍼(send-buffer-size-limit)와 전송 시간(send-time-limit-ms)을 넘으면 그 세션을 끊는다.
+ * 한 세션으로의 전송이 막혀도 다른 세션으로 보낼 메시지는 버퍼에 넣고 바로 돌아오므로 같은 채팅방의 다른 사용자는 기다리지 않는다.
+ */
+@Configuration
+public class WebSocketChannelConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final int inboundPoolSize;
+    private final int inboundQueueCapacity;
+    private final int outboundPoolSize;
+    private final int outboundQueueCapacity;
+    private final int sendTimeLimitMs;
+    private final int sendBufferSizeLimit;
+    private final int messageSizeLimit;
+
+    public WebSocketChannelConfig(@Value("${market.chat.channel.inbound.pool-size:0}") final int inboundPoolSize,
+                                  @Value("${market.chat.channel.inbound.queue-capacity:10000}") final int inboundQueueCapacity,
+                                  @Value("${market.chat.channel.outbound.pool-size:0}") final int outboundPoolSize,
+                                  @Value("${market.chat.channel.outbound.queue-capacity:10000}") final int outboundQueueCapacity,
+                                  @Value("${market.chat.channel.send-time-limit-ms:10000}") final int sendTimeLimitMs,
+                                  @Value("${market.chat.channel.send-buffer-size-limit:524288}") final int sendBufferSizeLimit,
+                                  @Value("${market.chat.channel.message-size-limit:65536}") final int messageSizeLimit) {
+        this.inboundPoolSize = inboundPoolSize > 0 ? inboundPoolSize : DEFAULT_POOL_SIZE;
+        this.inboundQueueCapacity = inboundQueueCapacity;
+        this.outboundPoolSize = outboundPoolSize > 0 ? outboundPoolSize : DEFAULT_POOL_SIZE;
+        this.outboundQueueCapacity = outboundQueueCapacity;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.messageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(executor("ws-inbound-", inboundPoolSize, inboundQueueCapacity));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(executor("ws-outbound-", outboundPoolSize, outboundQueueCapacity));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 제한을 넘은 세션은 ConcurrentWebSocketSessionDecorator 가 닫는다(클라이언트는 다시 연결해서 최근 메시지를 받는다).
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    // 큐가 가득 차면 보낸 스레드에서 직접 처리해서 들어오는 속도를 늦춘다.
+    private static ThreadPoolTaskExecutor executor(final String threadNamePrefix, final int poolSize, final int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -1,19 +1,57 @@
 package com.example.market.config;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
-@RequiredArgsConstructor
+import java.util.Set;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Set<String> BROKER_MODES = Set.of("simple", "relay", "embedded");
+    private static final String EMBEDDED_BROKER_CLASS = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ";
+
     private final StompHandler stompHandler;
+    private final StompTraceInterceptor stompTraceInterceptor;
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+
+    public WebSocketStompConfig(final StompHandler stompHandler,
+                                final StompTraceInterceptor stompTraceInterceptor,
+                                @Value("${market.chat.broker.mode:simple}") final String brokerMode,
+                                @Value("${market.chat.broker.relay-host:127.0.0.1}") final String relayHost,
+                                @Value("${market.chat.broker.relay-port:61613}") final int relayPort,
+                                @Value("${market.chat.broker.login:guest}") final String relayLogin,
+                                @Value("${market.chat.broker.passcode:guest}") final String relayPasscode) {
+        this.stompHandler = stompHandler;
+        this.stompTraceInterceptor = stompTraceInterceptor;
+        this.brokerMode = validateBrokerMode(brokerMode.trim());
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+    }
+
+    // 오타난 값이 조용히 relay 로 동작하거나, Artemis 가 없는 jar 에서 embedded 가 없는 브로커로 relay 하지 않도록 기동을 멈춘다.
+    private static String validateBrokerMode(final String brokerMode) {
+        if (!BROKER_MODES.contains(brokerMode)) {
+            throw new IllegalStateException("market.chat.broker.mode must be one of " + BROKER_MODES + " but was " + brokerMode);
+        }
+        if ("embedded".equals(brokerMode) && !ClassUtils.isPresent(EMBEDDED_BROKER_CLASS, WebSocketStompConfig.class.getClassLoader())) {
+            throw new IllegalStateException("market.chat.broker.mode=embedded requires Artemis on the classpath (bootRun/test only)");
+        }
+        return brokerMode;
+    }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -22,14 +60,30 @@ public class WebSocketStompConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        // simple: 이 서버에 연결된 구독자에게만 전달된다. 서버가 여러 대면 relay/embedded 를 써야 한다.
+        // relay: 외부 STOMP 브로커(RabbitMQ, Artemis 등)로 /topic 메시지를 보내서 모든 서버의 구독자에게 전달한다.
+        // embedded: 같은 프로세스에 Artemis 를 띄우고 relay 한다. 로컬 개발/테스트용.
+        if ("simple".equals(brokerMode)) {
+            registry.enableSimpleBroker("/topic");
+        } else {
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        }
         registry.setApplicationDestinationPrefixes("/app");
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration){
-        System.out.println("registration = " + registration);
-        System.out.println("여기서 헤더 검증해?");
-        registration.interceptors(stompHandler);
+        registration.interceptors(stompHandler, stompTraceInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompTraceInterceptor);
     }
 }
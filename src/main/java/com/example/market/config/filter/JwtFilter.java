@@ -9,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.ObjectUtils;
@@ -34,13 +35,14 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         String accessToken = authHeader.split(" ")[1];
-        if (!tokenProvider.validToken(accessToken)) {
+        Authentication authentication = tokenProvider.authenticate(accessToken);
+        if (authentication == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
         SecurityContext context = SecurityContextHolder.createEmptyContext();
-        context.setAuthentication(tokenProvider.getAuthentication(accessToken));
+        context.setAuthentication(authentication);
         SecurityContextHolder.setContext(context);
 
 
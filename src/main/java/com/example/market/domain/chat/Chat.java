@@ -6,7 +6,11 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
+// 채팅방의 최근 메시지부터 id 역순으로 읽기 때문에 (chat_room_id, id) 인덱스를 둔다.
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "chat", indexes = @Index(name = "idx_chat_room_id_id", columnList = "chat_room_id, id"))
 @Getter
 @Entity
 public class Chat {
@@ -23,12 +27,13 @@ public class Chat {
 
     private String content;
 
+    private LocalDateTime createdAt;
+
     @Builder
     public Chat(ChatRoom chatRoom, String writer, String content) {
         this.chatRoom = chatRoom;
         this.writer = writer;
         this.content = content;
+        this.createdAt = LocalDateTime.now();
     }
-
-
 }
@@ -1,17 +1,17 @@
 package com.example.market.domain.chat;
 
-import com.example.market.domain.chat.Chat;
-import com.example.market.domain.chat.ChatRoom;
+import com.example.market.api.controller.chat.response.ChatResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.util.List;
-
 public interface ChatRepository extends JpaRepository<Chat, Long> {
 
-    @Query("select c " +
+    @Query("select new com.example.market.api.controller.chat.response.ChatResponse(c.id, c.chatRoom.id, c.writer, c.content, c.createdAt) " +
             "from Chat c " +
-            "where c.chatRoom =:room")
-    List<Chat> customFindAllById(@Param("room") ChatRoom room);
+            "where c.chatRoom.id = :roomId and c.id < :id " +
+            "order by c.id desc")
+    Slice<ChatResponse> findAllByChatRoomIdAndIdLessThan(@Param("roomId") Long roomId, @Param("id") Long id, Pageable pageable);
 }
@@ -8,8 +8,13 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "chat_rooms")
+@Table(name = "chat_rooms", indexes = {
+        @Index(name = "idx_chat_rooms_buyer_id", columnList = "buyer_id"),
+        @Index(name = "idx_chat_rooms_seller_id", columnList = "seller_id")
+})
 @Getter
 @Entity
 public class ChatRoom {
@@ -30,6 +35,13 @@ public class ChatRoom {
     @JoinColumn(name = "item_id")
     private Item item;
 
+    // 채팅방 목록에서 채팅방마다 따로 조회하지 않도록 마지막 메시지와 참여자별 읽은 위치를 함께 둔다.
+    private Long lastChatId;
+    private String lastMessage;
+    private LocalDateTime lastMessageAt;
+    private Long buyerLastReadChatId;
+    private Long sellerLastReadChatId;
+
     @Builder
     public ChatRoom(User buyer, User seller, Item item) {
         this.buyer = buyer;
@@ -37,4 +49,13 @@ public class ChatRoom {
         this.item = item;
     }
 
+    public void updateLastMessage(final Chat chat) {
+        this.lastChatId = chat.getId();
+        this.lastMessage = chat.getContent();
+        this.lastMessageAt = chat.getCreatedAt();
+    }
+
+    public boolean isMember(final Long userId) {
+        return buyer.getId().equals(userId) || seller.getId().equals(userId);
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.market.domain.chat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 목록 네이티브 쿼리 결과. 컬럼 별칭과 getter 이름이 같아야 한다.
+ */
+public interface ChatRoomListView {
+
+    Long getId();
+
+    String getSeller();
+
+    String getBuyer();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getLastMessage();
+
+    LocalDateTime getLastMessageAt();
+
+    Long getUnreadCount();
+}
@@ -0,0 +1,19 @@
+package com.example.market.domain.chat;
+
+/**
+ * 채팅방 참여자. 채팅방을 만든 뒤에는 바뀌지 않는다.
+ */
+public record ChatRoomMembers(Long buyerId, String buyerUsername, Long sellerId, String sellerUsername) {
+
+    public boolean isBuyer(final Long userId) {
+        return buyerId.equals(userId);
+    }
+
+    public boolean isMember(final Long userId) {
+        return buyerId.equals(userId) || sellerId.equals(userId);
+    }
+
+    public String usernameOf(final Long userId) {
+        return isBuyer(userId) ? buyerUsername : sellerUsername;
+    }
+}
@@ -1,21 +1,58 @@
 package com.example.market.domain.chat;
 
-import com.example.market.domain.chat.ChatRoom;
-import com.example.market.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
 
-    @Query("select c " +
-            "from ChatRoom c " +
-            "where c.buyer =:user or c.seller =:user")
-    List<ChatRoom> findAllBySellerIdAndBuyerId(@Param("user") User user);
-//    @Query("select c " +
-//            "from ChatRoom c " +
-//            "where c.buyer.id =:userId or c.seller.id =:userId")
-//    List<ChatRoom> findAllBySellerIdAndBuyerId(@Param("userId") Long userId);
+    /**
+     * 내가 참여한 채팅방 목록. buyer_id = ? OR seller_id = ? 는 인덱스 하나로 찾을 수 없어서
+     * 구매자/판매자 조건을 각각 인덱스를 타는 두 쿼리로 나누고 UNION ALL 로 합친다.
+     * 안 읽은 메시지 수는 내가 마지막으로 읽은 메시지 이후에 상대방이 보낸 메시지 수이고, (chat_room_id, id) 인덱스 범위만 센다.
+     */
+    @Query(value = "select r.id as id, s.username as seller, b.username as buyer, i.id as itemId, i.title as itemName, " +
+            "r.last_message as lastMessage, r.last_message_at as lastMessageAt, r.last_chat_id as lastChatId, " +
+            "(select count(*) from chat c where c.chat_room_id = r.id " +
+            " and c.id > coalesce(r.buyer_last_read_chat_id, 0) and c.writer <> :username) as unreadCount " +
+            "from chat_rooms r " +
+            "join users s on s.user_id = r.seller_id " +
+            "join users b on b.user_id = r.buyer_id " +
+            "join item i on i.id = r.item_id " +
+            "where r.buyer_id = :userId " +
+            "union all " +
+            "select r.id, s.username, b.username, i.id, i.title, " +
+            "r.last_message, r.last_message_at, r.last_chat_id, " +
+            "(select count(*) from chat c where c.chat_room_id = r.id " +
+            " and c.id > coalesce(r.seller_last_read_chat_id, 0) and c.writer <> :username) " +
+            "from chat_rooms r " +
+            "join users s on s.user_id = r.seller_id " +
+            "join users b on b.user_id = r.buyer_id " +
+            "join item i on i.id = r.item_id " +
+            "where r.seller_id = :userId and r.buyer_id <> :userId " +
+            "order by lastChatId desc, id desc", nativeQuery = true)
+    List<ChatRoomListView> findAllBySellerIdAndBuyerId(@Param("userId") Long userId, @Param("username") String username);
+
+    @Query("select new com.example.market.domain.chat.ChatRoomMembers(b.id, b.username, s.id, s.username) " +
+            "from ChatRoom r " +
+            "join r.buyer b " +
+            "join r.seller s " +
+            "where r.id = :roomId")
+    Optional<ChatRoomMembers> findMembers(@Param("roomId") Long roomId);
+
+    @Modifying
+    @Query("update ChatRoom r set r.buyerLastReadChatId = :chatId " +
+            "where r.id = :roomId and r.buyer.id = :userId " +
+            "and (r.buyerLastReadChatId is null or r.buyerLastReadChatId < :chatId)")
+    int updateBuyerLastReadChatId(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("chatId") Long chatId);
+
+    @Modifying
+    @Query("update ChatRoom r set r.sellerLastReadChatId = :chatId " +
+            "where r.id = :roomId and r.seller.id = :userId " +
+            "and (r.sellerLastReadChatId is null or r.sellerLastReadChatId < :chatId)")
+    int updateSellerLastReadChatId(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("chatId") Long chatId);
 }
@@ -3,9 +3,12 @@ package com.example.market.domain.comment;
 import com.example.market.domain.comment.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     Page<Comment> findAllByItemId(Long itemId, Pageable pageable);
+
+    Slice<Comment> findAllByItemIdAndIdGreaterThan(Long itemId, Long id, Pageable pageable);
 }
@@ -9,11 +9,14 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 //@Table(name = "sales_item")
+// 썸네일/상세 이미지는 버전을 올리지 않는 update 로 따로 쓰므로, 상품 수정이 읽어 둔 옛 값으로 덮어쓰지 않게 바뀐 컬럼만 update 한다.
+@DynamicUpdate
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Entity
@@ -25,10 +28,16 @@ public class Item {
     private String title;
     private String description;
     private String imageUrl;
+    private String thumbnailUrl;
+    private String detailUrl;
     private int minPriceWanted;
     @Enumerated(EnumType.STRING)
     private ItemStatus status;
 
+    // 상품 수정이 수락/확정으로 바뀐 상태를 덮어쓰지 않도록 버전을 둔다.
+    @Version
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -57,6 +66,8 @@ public class Item {
 
     public void updateItemImage(String imageUrl) {
         this.imageUrl = imageUrl;
+        this.thumbnailUrl = null;
+        this.detailUrl = null;
     }
 
     public void updateStatus(final ItemStatus status) {
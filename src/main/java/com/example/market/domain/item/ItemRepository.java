@@ -1,29 +1,104 @@
 package com.example.market.domain.item;
 
+import com.example.market.api.controller.item.response.ItemResponse;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    String ITEM_RESPONSE = "select new com.example.market.api.controller.item.response.ItemResponse(" +
+            "i.id, i.title, i.description, u.username, i.status, i.minPriceWanted, " +
+            "i.imageUrl, i.thumbnailUrl, i.detailUrl) " +
+            "from Item i join i.user u ";
+
+    @Query("select i.user.id from Item i where i.id = :itemId")
+    Optional<Long> findSellerIdById(@Param("itemId") Long itemId);
+
+    /**
+     * 썸네일/상세 이미지를 반영한다. 버전을 올리지 않아서 그 사이 상품 수정이나 수락/확정과 충돌하지 않고,
+     * 원본 이미지와 이전 썸네일이 읽은 그대로일 때만 바꾼다(이전 썸네일이 없으면 빈 문자열).
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Item i set i.thumbnailUrl = :thumbnailUrl, i.detailUrl = :detailUrl " +
+            "where i.id = :itemId and i.imageUrl = :imageUrl and coalesce(i.thumbnailUrl, '') = :previousThumbnailUrl")
+    int updateImageVariants(@Param("itemId") Long itemId,
+                            @Param("imageUrl") String imageUrl,
+                            @Param("previousThumbnailUrl") String previousThumbnailUrl,
+                            @Param("thumbnailUrl") String thumbnailUrl,
+                            @Param("detailUrl") String detailUrl);
+
     Page<Item> findAllByStatusIn(List<ItemStatus> statuses, Pageable pageable);
 
-    @Query(value = "select i.*, ST_Distance_Sphere(u.location, :point) as dis " +
-            "from item i join users u on i.user_id = u.user_id " +
-            "having dis <= :scope", nativeQuery = true)
-    Page<Item> customFindAllByDistance(Pageable pageable,
-                                       @Param("point") Point point,
-                                       @Param("scope") Double scope);
+    @Query("select i " +
+            "from Item i " +
+            "join fetch i.user " +
+            "where i.status in :statuses and i.id > :lastId " +
+            "order by i.id")
+    List<Item> findAllWithUserByStatusInAndIdGreaterThan(@Param("statuses") List<ItemStatus> statuses,
+                                                         @Param("lastId") Long lastId,
+                                                         Pageable pageable);
+
+    @Query(value = ITEM_RESPONSE,
+            countQuery = "select count(i) from Item i")
+    Page<ItemResponse> findAllItemResponses(Pageable pageable);
+
+    @Query(value = ITEM_RESPONSE +
+            "where function('MBRContains', :box, u.location) = 1 " +
+            "and function('ST_Distance_Sphere', u.location, :point) <= :scope",
+            countQuery = "select count(i) " +
+                    "from Item i join i.user u " +
+                    "where function('MBRContains', :box, u.location) = 1 " +
+                    "and function('ST_Distance_Sphere', u.location, :point) <= :scope")
+    Page<ItemResponse> customFindAllByDistance(Pageable pageable,
+                                               @Param("point") Point point,
+                                               @Param("box") Geometry box,
+                                               @Param("scope") Double scope);
+
+    @Query("select i.id " +
+            "from Item i join i.user u " +
+            "where function('MBRContains', :box, u.location) = 1 " +
+            "and function('ST_Distance_Sphere', u.location, :point) <= :scope")
+    List<Long> findIdsByDistance(@Param("point") Point point,
+                                 @Param("box") Geometry box,
+                                 @Param("scope") Double scope);
+
+    @Query(value = ITEM_RESPONSE +
+            "where i.status in :statuses and u.id = :userId",
+            countQuery = "select count(i) from Item i where i.status in :statuses and i.user.id = :userId")
+    Page<ItemResponse> findAllByStatusInAndUserId(@Param("statuses") List<ItemStatus> statuses, Pageable pageable,
+                                                  @Param("userId") Long userId);
+
+    @Query(value = ITEM_RESPONSE +
+            "where i.status = :status and u.id = :userId",
+            countQuery = "select count(i) from Item i where i.status = :status and i.user.id = :userId")
+    Page<ItemResponse> findAllByStatusAndUserId(@Param("status") ItemStatus status, Pageable pageable,
+                                                @Param("userId") Long userId);
 
+    @Query(ITEM_RESPONSE +
+            "where i.id < :id")
+    Slice<ItemResponse> findAllByIdLessThan(@Param("id") Long id, Pageable pageable);
 
-    Page<Item> findAllByStatusInAndUserId(List<ItemStatus> statuses, Pageable pageable,
-                                          @Param("userId") Long userId);
+    @Query(ITEM_RESPONSE +
+            "where i.status in :statuses and u.id = :userId and i.id < :id")
+    Slice<ItemResponse> findAllByStatusInAndUserIdAndIdLessThan(@Param("statuses") List<ItemStatus> statuses,
+                                                                @Param("userId") Long userId,
+                                                                @Param("id") Long id,
+                                                                Pageable pageable);
 
-    Page<Item> findAllByStatusAndUserId(ItemStatus status, Pageable pageable,
-                                        @Param("userId") Long userId);
+    @Query(ITEM_RESPONSE +
+            "where i.status = :status and u.id = :userId and i.id < :id")
+    Slice<ItemResponse> findAllByStatusAndUserIdAndIdLessThan(@Param("status") ItemStatus status,
+                                                              @Param("userId") Long userId,
+                                                              @Param("id") Long id,
+                                                              Pageable pageable);
 }
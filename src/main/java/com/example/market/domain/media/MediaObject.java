@@ -0,0 +1,30 @@
+package com.example.market.domain.media;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * media/ 에 저장된 파일(SHA-256) 하나를 몇 개의 상품 이미지가 참조하고 있는지 센다.
+ * 참조 수가 0 이 된 뒤 유예 시간이 지나면 MediaGarbageCollector 가 파일과 함께 지운다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "media_objects")
+@Entity
+public class MediaObject {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    private int refCount;
+
+    private LocalDateTime updatedAt;
+}
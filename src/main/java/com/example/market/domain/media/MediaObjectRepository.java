@@ -0,0 +1,35 @@
+package com.example.market.domain.media;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface MediaObjectRepository extends JpaRepository<MediaObject, String> {
+
+    // 같은 파일을 동시에 올려도 행이 하나만 생기도록 upsert 로 참조 수를 올린다.
+    @Modifying
+    @Query(value = "insert into media_objects (hash, ref_count, updated_at) values (:hash, 1, now()) " +
+            "on duplicate key update ref_count = ref_count + 1, updated_at = now()", nativeQuery = true)
+    int retain(@Param("hash") String hash);
+
+    @Modifying
+    @Query("update MediaObject m set m.refCount = m.refCount - 1, m.updatedAt = :now " +
+            "where m.hash = :hash and m.refCount > 0")
+    int release(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    @Query("select m.hash from MediaObject m where m.hash in :hashes")
+    Set<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    List<MediaObject> findAllByRefCountAndUpdatedAtBefore(int refCount, LocalDateTime updatedAt, Pageable pageable);
+
+    @Modifying
+    @Query("delete from MediaObject m where m.hash = :hash and m.refCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -8,11 +8,19 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
+@Table(uniqueConstraints = @UniqueConstraint(name = Negotiation.UNIQUE_ITEM_BUYER, columnNames = {"item_id", "buyer_id"}),
+        indexes = {@Index(name = "idx_negotiation_item_price", columnList = "item_id, suggested_price"),
+                @Index(name = "idx_negotiation_status_created_at", columnList = "status, created_at")})
 @Entity
 public class Negotiation {
 
+    // 같은 구매자가 같은 상품에 제안을 두 번 저장하지 못하게 막는 유니크 제약
+    public static final String UNIQUE_ITEM_BUYER = "uk_negotiation_item_buyer";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,6 +29,13 @@ public class Negotiation {
     @Enumerated(EnumType.STRING)
     private NegotiationStatus status;
 
+    // 가격 수정(dirty checking)과 수락/확정(조건부 update) 이 서로 덮어쓰지 않도록 버전을 둔다.
+    @Version
+    private long version;
+
+    // 제안 만료 시각(createdAt + ttl)을 서버 재시작 후에도 다시 계산할 수 있도록 남긴다.
+    private LocalDateTime createdAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
@@ -44,12 +59,22 @@ public class Negotiation {
         this.status = status;
         this.seller = seller;
         this.buyer = buyer;
+        this.createdAt = LocalDateTime.now();
     }
 
     public void updateNegotiation(int suggestedPrice) {
         this.suggestedPrice = suggestedPrice;
     }
 
+    /**
+     * 끝난 제안을 새 가격으로 다시 연다. (상품, 구매자) 마다 행이 하나뿐이라 새로 저장하지 않고 이 행을 다시 쓴다.
+     */
+    public void reopen(int suggestedPrice) {
+        this.suggestedPrice = suggestedPrice;
+        this.status = NegotiationStatus.SUGGEST;
+        this.createdAt = LocalDateTime.now();
+    }
+
     public void updateNegotiationStatus(NegotiationStatus status) {
         this.status = status;
     }
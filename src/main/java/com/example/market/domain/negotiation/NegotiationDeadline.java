@@ -0,0 +1,6 @@
+package com.example.market.domain.negotiation;
+
+import java.time.LocalDateTime;
+
+public record NegotiationDeadline(Long id, LocalDateTime createdAt) {
+}
@@ -1,32 +1,124 @@
 package com.example.market.domain.negotiation;
 
-import com.example.market.domain.negotiation.Negotiation;
+import com.example.market.api.controller.negotiation.response.NegotiationResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface NegotiationRepository extends JpaRepository<Negotiation, Long> {
 
     boolean existsByItemId(Long itemId);
 
+    /**
+     * 제안 등록에 필요한 상품 상태, 판매자, 구매자 이름, 이미 보낸 제안(id, 상태)을 한 번에 조회한다.
+     */
+    @Query("select new com.example.market.domain.negotiation.NegotiationTarget(" +
+            "i.status, i.user.id, " +
+            "(select u.username from User u where u.id = :buyerId), " +
+            "(select n.id from Negotiation n where n.item.id = i.id and n.buyer.id = :buyerId), " +
+            "(select n.status from Negotiation n where n.item.id = i.id and n.buyer.id = :buyerId)) " +
+            "from Item i " +
+            "where i.id = :itemId")
+    Optional<NegotiationTarget> findNegotiationTarget(@Param("itemId") Long itemId, @Param("buyerId") Long buyerId);
+
     @Query("select n " +
             "from Negotiation n " +
             "join fetch n.item " +
             "where n.item.id =:itemId")
     Page<Negotiation> findAllByItemId(@Param("itemId") Long itemId, Pageable pageable);
 
+    /**
+     * 상품의 진행 중인 제안을 가격이 높은 순(같으면 먼저 들어온 순)으로 조회한다. (item_id, suggested_price) 인덱스를 탄다.
+     */
+    @Query("select new com.example.market.api.controller.negotiation.response.NegotiationResponse(" +
+            "n.id, n.suggestedPrice, n.status, b.username, n.item.id) " +
+            "from Negotiation n " +
+            "join n.buyer b " +
+            "where n.item.id = :itemId and n.status in ('SUGGEST', 'ACCEPT') " +
+            "order by n.suggestedPrice desc, n.id asc")
+    List<NegotiationResponse> findTopByItemId(@Param("itemId") Long itemId, Pageable pageable);
+
+    /**
+     * 만료를 기다리는 제안(SUGGEST)을 id 순으로 조회한다. 서버가 뜰 때 타이머 휠을 다시 채우는 데만 쓴다.
+     */
+    @Query("select new com.example.market.domain.negotiation.NegotiationDeadline(n.id, n.createdAt) " +
+            "from Negotiation n " +
+            "where n.status = 'SUGGEST' and n.id > :id " +
+            "order by n.id")
+    List<NegotiationDeadline> findSuggestedDeadlines(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * cutoff 이전에 만들어졌는데 아직 제안 상태인 제안 id 를 오래된 순으로 조회한다(idx_negotiation_status_created_at).
+     * 다른 서버가 만든 뒤 만료시키기 전에 내려가서 어느 휠에도 없는 제안을 찾는 데 쓴다.
+     */
+    @Query("select n.id from Negotiation n " +
+            "where n.status = 'SUGGEST' and n.createdAt <= :cutoff " +
+            "order by n.createdAt")
+    List<Long> findOverdueIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 후보 중 아직 제안 상태이고 cutoff 이전에 만들어진(다시 열린) 제안을 잠그고 id 를 돌려준다.
+     * 서버 여러 대가 같은 제안을 동시에 만료시키려고 해도 한 곳만 받는다.
+     */
+    @Query(value = "select id from negotiation " +
+            "where id in (:ids) and status = 'SUGGEST' and created_at <= :cutoff " +
+            "for update", nativeQuery = true)
+    List<Long> lockExpirableIds(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 아직 제안 상태인 것만 만료 처리한다. 그사이 수락/거절된 제안은 그대로 둔다.
+     */
+    @Modifying
+    @Query("update Negotiation n set n.status = 'EXPIRED', n.version = n.version + 1 " +
+            "where n.id in :ids and n.status = 'SUGGEST'")
+    int expireNegotiations(@Param("ids") List<Long> ids);
+
     Optional<Negotiation> findByItemIdAndBuyerId(@Param("itemId") Long itemId, @Param("buyerId") Long buyerId);
 
-    @Modifying(clearAutomatically = true)
-    @Query("update Negotiation n set n.status = 'REJECT' where n.id <> :negotiationId and n.item.id = :itemId")
-    int updateNegotiationStatus(@Param("negotiationId") Long negotiationId, @Param("itemId") Long itemId);
+    /**
+     * 수락한 제안을 뺀 나머지 진행 중인 제안을 한 번에 거절한다. 거절된 제안을 수정하던 요청은 버전이 달라져 실패한다.
+     */
+    @Modifying
+    @Query("update Negotiation n set n.status = 'REJECT', n.version = n.version + 1 " +
+            "where n.item.id = :itemId and n.id <> :negotiationId and n.status in ('SUGGEST', 'ACCEPT')")
+    int rejectOtherNegotiations(@Param("negotiationId") Long negotiationId, @Param("itemId") Long itemId);
 
     Page<Negotiation> findAllBySellerId(@Param("sellerId") Long sellerId, Pageable pageable);
 
     Page<Negotiation> findAllByBuyerId(@Param("buyerId") Long buyerId, Pageable pageable);
+
+    // 받은/보낸 제안함은 엔티티 없이 한 번의 조회로 상품 제목과 상대방 닉네임까지 가져온다.
+    String RECEIVED_RESPONSE = "select new com.example.market.api.controller.negotiation.response.NegotiationResponse(" +
+            "n.id, n.suggestedPrice, n.status, b.username, i.id, i.title, b.nickname) " +
+            "from Negotiation n join n.item i join n.buyer b ";
+
+    String SENT_RESPONSE = "select new com.example.market.api.controller.negotiation.response.NegotiationResponse(" +
+            "n.id, n.suggestedPrice, n.status, b.username, i.id, i.title, s.nickname) " +
+            "from Negotiation n join n.item i join n.buyer b join n.seller s ";
+
+    @Query(value = RECEIVED_RESPONSE + "where n.seller.id = :sellerId",
+            countQuery = "select count(n) from Negotiation n where n.seller.id = :sellerId")
+    Page<NegotiationResponse> findReceivedResponses(@Param("sellerId") Long sellerId, Pageable pageable);
+
+    @Query(value = SENT_RESPONSE + "where b.id = :buyerId",
+            countQuery = "select count(n) from Negotiation n where n.buyer.id = :buyerId")
+    Page<NegotiationResponse> findSentResponses(@Param("buyerId") Long buyerId, Pageable pageable);
+
+    @Query(RECEIVED_RESPONSE + "where n.seller.id = :sellerId and n.id > :id")
+    Slice<NegotiationResponse> findReceivedResponsesByIdGreaterThan(@Param("sellerId") Long sellerId, @Param("id") Long id, Pageable pageable);
+
+    @Query(SENT_RESPONSE + "where b.id = :buyerId and n.id > :id")
+    Slice<NegotiationResponse> findSentResponsesByIdGreaterThan(@Param("buyerId") Long buyerId, @Param("id") Long id, Pageable pageable);
+
+    Slice<Negotiation> findAllBySellerIdAndIdGreaterThan(Long sellerId, Long id, Pageable pageable);
+
+    Slice<Negotiation> findAllByBuyerIdAndIdGreaterThan(Long buyerId, Long id, Pageable pageable);
 }
@@ -9,7 +9,7 @@ import java.util.Arrays;
 @Getter
 public enum NegotiationStatus {
 
-    SUGGEST("제안"), REJECT("거절"), ACCEPT("수락"), CONFIRM("확정");
+    SUGGEST("제안"), REJECT("거절"), ACCEPT("수락"), CONFIRM("확정"), EXPIRED("만료");
 
     private String status;
     NegotiationStatus(String status) {
@@ -23,6 +23,11 @@ public enum NegotiationStatus {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST));
     }
 
+    // 끝난 제안(거절, 만료)은 같은 구매자가 다시 제안할 수 있다.
+    public boolean isClosed() {
+        return this == REJECT || this == EXPIRED;
+    }
+
     public boolean hasStatus(String status) {
         return getStatus().equals(status);
     }
@@ -0,0 +1,15 @@
+package com.example.market.domain.negotiation;
+
+import com.example.market.domain.item.ItemStatus;
+
+/**
+ * 가격 제안을 등록하기 전에 확인할 값들. 상품이 없으면 조회 결과가 없고, 구매자가 없으면 buyerUsername 이 null 이다.
+ * 같은 구매자가 이 상품에 보낸 제안이 있으면 negotiationId, negotiationStatus 에 담기고, 없으면 둘 다 null 이다.
+ */
+public record NegotiationTarget(ItemStatus itemStatus, Long sellerId, String buyerUsername,
+                                Long negotiationId, NegotiationStatus negotiationStatus) {
+
+    public boolean hasOpenNegotiation() {
+        return negotiationId != null && !negotiationStatus.isClosed();
+    }
+}
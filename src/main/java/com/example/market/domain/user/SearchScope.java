@@ -2,6 +2,11 @@ package com.example.market.domain.user;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
 
 @Getter
 @RequiredArgsConstructor
@@ -11,5 +16,26 @@ public enum SearchScope {
     NORMAL(200000.0), // 200KM
     WIDE(400000.0); // 400KM
 
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
     private final Double scope;
+
+    /**
+     * 검색 범위를 감싸는 위경도 사각형(MBR)을 만든다.
+     * 공간 인덱스로 후보를 먼저 거른 뒤, 정확한 거리는 ST_Distance_Sphere 로 계산한다.
+     */
+    public Geometry toBoundingBox(final Point center) {
+        double latDelta = scope / METERS_PER_DEGREE;
+        double lngDelta = scope / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(center.getY())), 0.01));
+
+        Envelope envelope = new Envelope(
+                Math.max(center.getX() - lngDelta, -180.0),
+                Math.min(center.getX() + lngDelta, 180.0),
+                Math.max(center.getY() - latDelta, -90.0),
+                Math.min(center.getY() + latDelta, 90.0)
+        );
+
+        GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+        return geometryFactory.toGeometry(envelope);
+    }
 }
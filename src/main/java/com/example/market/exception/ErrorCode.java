@@ -8,6 +8,8 @@ import lombok.Getter;
 @Getter
 public enum ErrorCode {
     INVALID_WRITER(ResultCode.UNAUTHORIZED, "작성자 정보가 일치하지 않습니다."),
+    INVALID_TOKEN(ResultCode.UNAUTHORIZED, "유효하지 않은 토큰입니다."),
+    REQUIRED_LOGIN(ResultCode.UNAUTHORIZED, "로그인이 필요합니다."),
     NOT_FOUND_USER(ResultCode.NOT_FOUND, "존재하지 않는 회원입니다."),
 
     NOT_MATCH_ITEM_AND_COMMENT(ResultCode.INVALID_ARGUMENT, "아이템 번호와 댓글 번호가 일치하지 않습니다."),
@@ -16,16 +18,27 @@ public enum ErrorCode {
     NOT_FOUND_COMMENT(ResultCode.NOT_FOUND, "존재하지 않는 댓글입니다."),
     NOT_FOUND_NEGOTIATION(ResultCode.NOT_FOUND, "존재하지 않는 네고입니다."),
     NOT_FOUND_BUY(ResultCode.NOT_FOUND, "구매 내역이 존재하지 않습니다."),
+    NOT_FOUND_CHAT_ROOM(ResultCode.NOT_FOUND, "존재하지 않는 채팅방입니다."),
+    NOT_FOUND_MEDIA(ResultCode.NOT_FOUND, "존재하지 않는 파일입니다."),
     SERVER_ERROR(ResultCode.INTERNAL_SERVER_ERROR, "서버 에러가 발생했습니다."),
 
     ALREADY_USER_USERNAME(ResultCode.CONFLICT, "이미 존재하는 회원입니다."),
     ALREADY_USER_NEGOTIATION(ResultCode.CONFLICT, "이미 제안을 요청했습니다."),
     ALREADY_ITEM_SOLD(ResultCode.CONFLICT, "이미 판매된 상품입니다."),
     ALREADY_REVIEW(ResultCode.CONFLICT, "이미 리뷰가 존재합니다."),
+    ALREADY_ITEM_RESERVED(ResultCode.CONFLICT, "이미 예약되었거나 판매된 상품입니다."),
+    INVALID_NEGOTIATION_STATUS(ResultCode.CONFLICT, "처리할 수 없는 제안 상태입니다."),
+    CONCURRENT_UPDATE(ResultCode.CONFLICT, "다른 요청과 동시에 수정되었습니다. 다시 시도해 주세요."),
 
     CANNOT_NEGOTIATION_OWN_ITEM(ResultCode.FORBIDDEN, "본인 상품에는 제안을 할 수 없습니다."),
-
-    NOT_FOUND_COORDINATE(ResultCode.INVALID_ARGUMENT, "좌표값이 제대로 입력되지 않았습니다.");
+    NOT_CHAT_ROOM_MEMBER(ResultCode.FORBIDDEN, "채팅방 참여자가 아닙니다."),
+    NOT_NEGOTIATION_MEMBER(ResultCode.FORBIDDEN, "제안을 처리할 권한이 없습니다."),
+
+    INVALID_IMAGE_TYPE(ResultCode.INVALID_ARGUMENT, "지원하지 않는 이미지 형식입니다."),
+    TOO_LARGE_FILE(ResultCode.INVALID_ARGUMENT, "파일 크기가 너무 큽니다."),
+    NOT_FOUND_COORDINATE(ResultCode.INVALID_ARGUMENT, "좌표값이 제대로 입력되지 않았습니다."),
+    INVALID_CURSOR(ResultCode.INVALID_ARGUMENT, "잘못된 커서입니다."),
+    INVALID_LIMIT(ResultCode.INVALID_ARGUMENT, "조회 개수는 1 이상 100 이하여야 합니다.");
 
     private ResultCode resultCode;
     private String message;
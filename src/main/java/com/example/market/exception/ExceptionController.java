@@ -1,6 +1,7 @@
 package com.example.market.exception;
 
 import com.example.market.api.ApiResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -20,6 +21,16 @@ public class ExceptionController {
                         .build());
     }
 
+    // @Version 충돌. 같은 데이터를 동시에 수정한 요청 중 늦게 저장한 쪽이다.
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> optimisticLockingFailureHandler(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(ErrorCode.CONCURRENT_UPDATE.getResultCode().getHttpStatus())
+                .body(ErrorResponse.builder()
+                        .errorCode(ErrorCode.CONCURRENT_UPDATE.name())
+                        .message(ErrorCode.CONCURRENT_UPDATE.getMessage())
+                        .build());
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(BindException.class)
     public ApiResponse<Object> bindException(BindException e) {
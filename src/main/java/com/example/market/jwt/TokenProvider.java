@@ -1,6 +1,9 @@
 package com.example.market.jwt;
 
 import com.example.market.domain.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,11 +14,16 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -23,12 +31,34 @@ public class TokenProvider {
 
     private final Key key;
     private final JwtParser jwtParser;
+    // 검증을 통과한 토큰. 토큰 원문 대신 SHA-256 다이제스트를 키로 쓰고, 토큰의 exp 에 맞춰 만료된다.
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public TokenProvider(@Value("${jwt.secret}") String key) {
+    public TokenProvider(@Value("${jwt.secret}") String key,
+                         @Value("${market.jwt.cache.maximum-size:100000}") long cacheMaximumSize) {
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(key));
         this.jwtParser = Jwts.parserBuilder()
                 .setSigningKey(key)
                 .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(token.expiresAt() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String createAccessToken(User user) {
@@ -41,29 +71,55 @@ public class TokenProvider {
                 .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = getClaims(token);
-        Set<SimpleGrantedAuthority> authorities =
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_" + claims.get("role")));
+    /**
+     * 토큰을 검증하고 Authentication 을 돌려준다. 유효하지 않으면 null 을 돌려준다.
+     * 한 번 검증한 토큰은 만료될 때까지 캐시에서 꺼내므로 서명 검증과 클레임 파싱을 다시 하지 않는다.
+     */
+    public Authentication authenticate(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified == null) {
+            Claims claims;
+            try {
+                claims = getClaims(token);
+            } catch (Exception e) {
+                log.error("invalidToken", e);
+                return null;
+            }
+            verified = VerifiedToken.of(claims);
+            if (verified.expiresAt() != Long.MAX_VALUE) {
+                verifiedTokens.put(digest, verified);
+            }
+        } else if (verified.expiresAt() <= System.currentTimeMillis()) {
+            verifiedTokens.invalidate(digest);
+            return null;
+        }
+        // 토큰 객체는 요청마다 새로 만든다(details 등이 요청 사이에 공유되지 않도록).
+        return new UsernamePasswordAuthenticationToken(verified.principal(), null, verified.authorities());
+    }
 
-        return new UsernamePasswordAuthenticationToken(claims.get("id"), null, authorities);
+    public Claims getClaims(String token) {
+        return jwtParser.parseClaimsJws(token)
+                .getBody();
     }
 
-    public boolean validToken(String token) {
+    private static String digest(String token) {
         try {
-            jwtParser.parseClaimsJws(token);
-            return true;
-        } catch (ExpiredJwtException e) {
-            log.error("invalidToken", e);
-            return false;
-        } catch (Exception e) {
-            log.error("invalidToken", e);
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
-    public Claims getClaims(String token) {
-        return jwtParser.parseClaimsJws(token)
-                .getBody();
+    private record VerifiedToken(Object principal, Set<SimpleGrantedAuthority> authorities, long expiresAt) {
+
+        // exp 가 없는 토큰은 캐시하지 않는다.
+        static VerifiedToken of(Claims claims) {
+            Set<SimpleGrantedAuthority> authorities =
+                    Collections.singleton(new SimpleGrantedAuthority("ROLE_" + claims.get("role")));
+            long expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+            return new VerifiedToken(claims.get("id"), authorities, expiresAt);
+        }
     }
 }
@@ -0,0 +1,286 @@
+package com.example.market.service.chat;
+
+import com.example.market.api.controller.chat.request.ChatMessageCreateDto;
+import com.example.market.api.controller.chat.response.ChatResponse;
+import com.example.market.domain.chat.ChatRoomMembers;
+import com.example.market.domain.chat.ChatRoomRepository;
+import com.example.market.exception.MarketAppException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.example.market.exception.ErrorCode.NOT_CHAT_ROOM_MEMBER;
+import static com.example.market.exception.ErrorCode.NOT_FOUND_CHAT_ROOM;
+import static com.example.market.exception.ErrorCode.SERVER_ERROR;
+
+/**
+ * 채팅 메시지 저장을 모아서 처리한다.
+ * 보낸 사람은 payload 의 writer 가 아니라 CONNECT 때 인증된 세션 사용자이고, 채팅방 참여자만 보낼 수 있다.
+ * Chat 은 IDENTITY 키라서 JPA 로는 배치 insert 가 안 되므로, 큐에 쌓아 두었다가
+ * batch-size 개가 모이거나 flush-interval-ms 가 지나면 multi-row insert 한 번으로 저장한다.
+ *
+ * mode
+ * - write-behind: 큐에 넣은 뒤 브로드캐스트하고, 저장은 나중에 한다. 큐가 가득 차면 offer-timeout-ms 만큼 기다리고(backpressure),
+ *   그래도 자리가 없으면 호출한 스레드에서 먼저 저장하고 브로드캐스트한다.
+ *   큐에 들어간 메시지는 서버가 비정상 종료되거나 배치 저장이 실패하면(로그만 남긴다) 브로드캐스트된 뒤에도 잃을 수 있다.
+ * - sync: 저장이 끝난 뒤에 브로드캐스트한다. 저장에 실패하면 브로드캐스트하지 않고 SERVER_ERROR 를 던진다.
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter implements SmartLifecycle {
+
+    private static final String INSERT_PREFIX = "insert into chat (chat_room_id, writer, content, created_at) values ";
+    // 채팅방 목록에서 쓰는 마지막 메시지. 순서가 뒤바뀌어 저장돼도 더 최신 메시지로만 바뀐다.
+    private static final String UPDATE_LAST_MESSAGE = "update chat_rooms set last_chat_id = ?, last_message = ?, last_message_at = ? " +
+            "where id = ? and (last_chat_id is null or last_chat_id < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatRoomRepository chatRoomRepository;
+    private final RecentChatBuffer recentChatBuffer;
+    private final Mode mode;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    private final BlockingQueue<PendingChat> queue;
+    // 채팅방은 지워지지 않고 참여자도 바뀌지 않으므로 메시지마다 조회하지 않는다.
+    private final Cache<Long, ChatRoomMembers> members = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    private volatile boolean running;
+    // stop() 이후에는 큐를 비울 스레드가 없으므로 호출한 스레드에서 바로 저장한다.
+    private volatile boolean stopped;
+    private Thread flusher;
+
+    public ChatMessageWriter(final JdbcTemplate jdbcTemplate,
+                             final ChatRoomRepository chatRoomRepository,
+                             final RecentChatBuffer recentChatBuffer,
+                             @Value("${market.chat.persistence.mode:write-behind}") final String mode,
+                             @Value("${market.chat.persistence.queue-capacity:10000}") final int queueCapacity,
+                             @Value("${market.chat.persistence.batch-size:500}") final int batchSize,
+                             @Value("${market.chat.persistence.flush-interval-ms:200}") final long flushIntervalMs,
+                             @Value("${market.chat.persistence.offer-timeout-ms:50}") final long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatRoomRepository = chatRoomRepository;
+        this.recentChatBuffer = recentChatBuffer;
+        this.mode = Mode.from(mode);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * 설정된 모드에 맞는 순서로 메시지를 저장하고 broadcast 를 실행한다.
+     * userId 는 세션 사용자다. payload 의 writer 는 무시하고 채팅방에서의 사용자 이름으로 바꿔서 저장/전달한다.
+     */
+    public void write(final ChatMessageCreateDto createDto, final Long userId, final Consumer<ChatMessageCreateDto> broadcast) {
+        ChatRoomMembers roomMembers = findMembers(createDto.getRoomId());
+        if (!roomMembers.isMember(userId)) {
+            throw new MarketAppException(NOT_CHAT_ROOM_MEMBER, NOT_CHAT_ROOM_MEMBER.getMessage());
+        }
+        ChatMessageCreateDto message = new ChatMessageCreateDto(createDto.getRoomId(), roomMembers.usernameOf(userId), createDto.getContent());
+        PendingChat chat = new PendingChat(message.getRoomId(), message.getWriter(), message.getContent(), LocalDateTime.now());
+
+        if (mode == Mode.SYNC || stopped) {
+            saveNow(chat);
+            broadcast.accept(message);
+            return;
+        }
+
+        if (!offer(chat)) {
+            log.warn("chat write-behind queue is full. writing synchronously. roomId = {}", chat.roomId());
+            saveNow(chat);
+        } else if (stopped) {
+            // 넣는 사이에 종료되어 마지막 drain 이 지나갔을 수 있다.
+            drain();
+        }
+        broadcast.accept(message);
+    }
+
+    @Override
+    public void start() {
+        if (mode == Mode.SYNC) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 종료할 때는 큐에 남은 메시지를 모두 저장한 뒤 멈춘다. 이후 메시지는 sync 모드처럼 바로 저장한다.
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private ChatRoomMembers findMembers(final Long roomId) {
+        if (roomId == null) {
+            throw new MarketAppException(NOT_FOUND_CHAT_ROOM, NOT_FOUND_CHAT_ROOM.getMessage());
+        }
+        ChatRoomMembers roomMembers = members.getIfPresent(roomId);
+        if (roomMembers == null) {
+            roomMembers = chatRoomRepository.findMembers(roomId)
+                    .orElseThrow(() -> new MarketAppException(NOT_FOUND_CHAT_ROOM, NOT_FOUND_CHAT_ROOM.getMessage()));
+            members.put(roomId, roomMembers);
+        }
+        return roomMembers;
+    }
+
+    private boolean offer(final PendingChat chat) {
+        try {
+            return queue.offer(chat, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingChat first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("failed to flush chat messages", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void drain() {
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            insert(batch);
+            batch.clear();
+        }
+    }
+
+    // 호출한 스레드에서 바로 저장한다. 실패하면 예외를 던져서 브로드캐스트하지 않게 한다.
+    private void saveNow(final PendingChat chat) {
+        try {
+            save(List.of(chat));
+        } catch (DataAccessException e) {
+            log.error("failed to save chat message. roomId = {}", chat.roomId(), e);
+            throw new MarketAppException(SERVER_ERROR, SERVER_ERROR.getMessage());
+        }
+    }
+
+    // 큐에서 꺼낸 배치를 저장한다. 이미 브로드캐스트된 메시지라 실패하면 로그만 남긴다.
+    private void insert(final List<PendingChat> batch) {
+        try {
+            save(batch);
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                log.error("failed to save chat message. roomId = {}", batch.get(0).roomId(), e);
+                return;
+            }
+            // 한 건 때문에 전체가 실패하지 않도록 한 건씩 다시 저장한다.
+            batch.forEach(chat -> insert(List.of(chat)));
+        }
+    }
+
+    private void save(final List<PendingChat> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(insertSql(batch.size()), Statement.RETURN_GENERATED_KEYS);
+            int index = 1;
+            for (PendingChat chat : batch) {
+                statement.setLong(index++, chat.roomId());
+                statement.setString(index++, chat.writer());
+                statement.setString(index++, chat.content());
+                statement.setTimestamp(index++, Timestamp.valueOf(chat.createdAt()));
+            }
+            return statement;
+        }, keyHolder);
+
+        // multi-row insert 의 생성 키는 입력 순서대로 돌아온다. 저장된 메시지만 최근 메시지 버퍼에 넣는다.
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        Map<Long, ChatResponse> lastByRoom = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+            PendingChat chat = batch.get(i);
+            Number id = (Number) keys.get(i).values().iterator().next();
+            ChatResponse saved = new ChatResponse(id.longValue(), chat.roomId(), chat.writer(), chat.content(), chat.createdAt());
+            recentChatBuffer.append(saved);
+            lastByRoom.put(chat.roomId(), saved);
+        }
+
+        // 채팅방마다 이번 배치의 마지막 메시지로 한 번만 갱신한다.
+        List<Object[]> args = lastByRoom.values().stream()
+                .map(chat -> new Object[]{chat.getId(), chat.getContent(), Timestamp.valueOf(chat.getCreatedAt()), chat.getRoomId(), chat.getId()})
+                .toList();
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE, args);
+        } catch (DataAccessException e) {
+            log.error("failed to update chat room last message", e);
+        }
+    }
+
+    static String insertSql(final int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * 10).append(INSERT_PREFIX);
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+        }
+        return sql.toString();
+    }
+
+    private record PendingChat(Long roomId, String writer, String content, LocalDateTime createdAt) {
+    }
+
+    private enum Mode {
+        SYNC, WRITE_BEHIND;
+
+        static Mode from(final String value) {
+            return Mode.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+}
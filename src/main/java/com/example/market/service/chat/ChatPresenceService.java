@@ -0,0 +1,163 @@
+package com.example.market.service.chat;
+
+import com.example.market.api.controller.chat.request.ChatPresenceDto;
+import com.example.market.domain.chat.ChatRoomMembers;
+import com.example.market.domain.chat.ChatRoomRepository;
+import com.example.market.exception.MarketAppException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.market.exception.ErrorCode.NOT_CHAT_ROOM_MEMBER;
+import static com.example.market.exception.ErrorCode.NOT_FOUND_CHAT_ROOM;
+
+/**
+ * 입력 중/읽음 이벤트를 /topic/{roomId}/presence 로 전달한다.
+ * 보낸 사람은 payload 의 writer 가 아니라 CONNECT 때 인증된 세션 사용자이고, 채팅방 참여자만 보낼 수 있다.
+ * 같은 채팅방의 같은 사용자가 보낸 같은 종류의 이벤트는 coalesce-ms 동안 한 번만 전달한다.
+ *
+ * 읽은 위치는 메모리에 모아 두었다가(채팅방, 사용자마다 가장 큰 값) read-flush-interval-ms 마다 한 번에 저장한다.
+ * 서버가 비정상 종료되면 저장 전의 읽은 위치는 잃을 수 있다(다음 읽음 이벤트로 다시 채워진다).
+ */
+@Slf4j
+@Service
+public class ChatPresenceService {
+
+    // 읽은 위치를 모르면(0) 저장하는 시점의 채팅방 마지막 메시지까지 읽음 처리한다. 읽은 위치는 뒤로 돌아가지 않는다.
+    private static final String UPDATE_BUYER_LAST_READ = "update chat_rooms r " +
+            "set r.buyer_last_read_chat_id = coalesce(nullif(?, 0), r.last_chat_id) " +
+            "where r.id = ? and r.buyer_id = ? " +
+            "and coalesce(nullif(?, 0), r.last_chat_id) > coalesce(r.buyer_last_read_chat_id, 0)";
+    private static final String UPDATE_SELLER_LAST_READ = "update chat_rooms r " +
+            "set r.seller_last_read_chat_id = coalesce(nullif(?, 0), r.last_chat_id) " +
+            "where r.id = ? and r.seller_id = ? " +
+            "and coalesce(nullif(?, 0), r.last_chat_id) > coalesce(r.seller_last_read_chat_id, 0)";
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final RecentChatBuffer recentChatBuffer;
+    private final ChatRoomRepository chatRoomRepository;
+
+    private final Cache<PresenceKey, Boolean> recentlySent;
+    // 채팅방 참여자는 바뀌지 않으므로 이벤트마다 조회하지 않는다.
+    private final Cache<Long, ChatRoomMembers> members = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+    private final Map<ReadKey, Long> pendingReads = new ConcurrentHashMap<>();
+
+    public ChatPresenceService(final SimpMessagingTemplate simpMessagingTemplate,
+                               final JdbcTemplate jdbcTemplate,
+                               final RecentChatBuffer recentChatBuffer,
+                               final ChatRoomRepository chatRoomRepository,
+                               @Value("${market.chat.presence.coalesce-ms:1000}") final long coalesceMs) {
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentChatBuffer = recentChatBuffer;
+        this.chatRoomRepository = chatRoomRepository;
+        this.recentlySent = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(coalesceMs))
+                .maximumSize(1_000_000)
+                .build();
+    }
+
+    /**
+     * userId 는 세션 사용자다. payload 의 writer 는 무시하고 채팅방에서의 사용자 이름으로 바꿔서 전달한다.
+     */
+    public void publish(final ChatPresenceDto presence, final Long userId) {
+        if (presence.getRoomId() == null || presence.getType() == null) {
+            return;
+        }
+        ChatRoomMembers roomMembers = findMembers(presence.getRoomId());
+        if (!roomMembers.isMember(userId)) {
+            throw new MarketAppException(NOT_CHAT_ROOM_MEMBER, NOT_CHAT_ROOM_MEMBER.getMessage());
+        }
+
+        if (presence.getType() == ChatPresenceDto.Type.READ) {
+            Long lastReadChatId = presence.getLastReadChatId() != null
+                    ? presence.getLastReadChatId()
+                    : recentChatBuffer.latestId(presence.getRoomId());
+            // 읽은 위치는 전달 여부와 상관없이 항상 기록한다.
+            pendingReads.merge(new ReadKey(presence.getRoomId(), userId, roomMembers.isBuyer(userId)),
+                    lastReadChatId == null ? 0L : lastReadChatId, Math::max);
+        }
+
+        PresenceKey key = new PresenceKey(presence.getRoomId(), userId, presence.getType());
+        if (recentlySent.asMap().putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        ChatPresenceDto relayed = new ChatPresenceDto(presence.getRoomId(), roomMembers.usernameOf(userId),
+                presence.getType(), presence.getLastReadChatId());
+        simpMessagingTemplate.convertAndSend(String.format("/topic/%s/presence", presence.getRoomId()), relayed);
+    }
+
+    /**
+     * 모아 둔 읽은 위치를 구매자/판매자별로 나눠서 저장한다.
+     */
+    @Scheduled(fixedDelayString = "${market.chat.presence.read-flush-interval-ms:1000}")
+    public void flushReads() {
+        if (pendingReads.isEmpty()) {
+            return;
+        }
+
+        List<ReadKey> keys = new ArrayList<>(pendingReads.keySet());
+        List<Object[]> buyerArgs = new ArrayList<>();
+        List<Object[]> sellerArgs = new ArrayList<>();
+        Map<ReadKey, Long> flushed = new HashMap<>();
+        for (ReadKey key : keys) {
+            Long lastReadChatId = pendingReads.remove(key);
+            if (lastReadChatId != null) {
+                flushed.put(key, lastReadChatId);
+                (key.buyer() ? buyerArgs : sellerArgs)
+                        .add(new Object[]{lastReadChatId, key.roomId(), key.userId(), lastReadChatId});
+            }
+        }
+
+        try {
+            if (!buyerArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_BUYER_LAST_READ, buyerArgs);
+            }
+            if (!sellerArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SELLER_LAST_READ, sellerArgs);
+            }
+        } catch (DataAccessException e) {
+            log.error("failed to flush chat read receipts", e);
+            // 다음 주기에 다시 저장한다.
+            flushed.forEach((key, lastReadChatId) -> pendingReads.merge(key, lastReadChatId, Math::max));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushReads();
+    }
+
+    private ChatRoomMembers findMembers(final Long roomId) {
+        ChatRoomMembers roomMembers = members.getIfPresent(roomId);
+        if (roomMembers == null) {
+            roomMembers = chatRoomRepository.findMembers(roomId)
+                    .orElseThrow(() -> new MarketAppException(NOT_FOUND_CHAT_ROOM, NOT_FOUND_CHAT_ROOM.getMessage()));
+            members.put(roomId, roomMembers);
+        }
+        return roomMembers;
+    }
+
+    private record PresenceKey(Long roomId, Long userId, ChatPresenceDto.Type type) {
+    }
+
+    private record ReadKey(Long roomId, Long userId, boolean buyer) {
+    }
+}
@@ -6,6 +6,8 @@ import com.example.market.domain.chat.ChatRoom;
 import com.example.market.domain.user.User;
 import com.example.market.api.controller.chat.request.ChatRoomCreateDto;
 import com.example.market.api.controller.chat.request.ChatSenderDto;
+import com.example.market.api.CursorResponse;
+import com.example.market.api.controller.chat.response.ChatResponse;
 import com.example.market.api.controller.chat.response.ChatRoomCreateResponseDto;
 import com.example.market.api.controller.chat.response.ChatRoomListResponseDto;
 import com.example.market.exception.MarketAppException;
@@ -14,14 +16,17 @@ import com.example.market.domain.chat.ChatRepository;
 import com.example.market.domain.chat.ChatRoomRepository;
 import com.example.market.domain.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import static com.example.market.exception.ErrorCode.NOT_FOUND_ITEM;
-import static com.example.market.exception.ErrorCode.SERVER_ERROR;
+import static com.example.market.exception.ErrorCode.*;
 
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -32,15 +37,15 @@ public class ChatService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ChatRepository chatRepository;
+    private final RecentChatBuffer recentChatBuffer;
 
     public List<ChatRoomListResponseDto> getChatRooms(Long userId) {
-        User user = userRepository.findById(userId).get();
-//        List<ChatRoom> allBySellerIdAndBuyerId = chatRoomRepository.findAllBySellerIdAndBuyerId(userId);
-        List<ChatRoom> allBySellerIdAndBuyerId = chatRoomRepository.findAllBySellerIdAndBuyerId(user);
-        List<ChatRoomListResponseDto> collect = allBySellerIdAndBuyerId.stream()
-                .map(r -> new ChatRoomListResponseDto(r))
-                .collect(Collectors.toList());
-        return collect;
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
+
+        return chatRoomRepository.findAllBySellerIdAndBuyerId(userId, user.getUsername()).stream()
+                .map(ChatRoomListResponseDto::of)
+                .toList();
     }
 
     @Transactional
@@ -56,11 +61,12 @@ public class ChatService {
 
 
         ChatRoom save = chatRoomRepository.save(createDto.toEntity(item, buyer, seller));
-        chatRepository.save(Chat.builder()
+        Chat welcome = chatRepository.save(Chat.builder()
                 .chatRoom(save)
                 .writer("환영합니다")
                 .content("환영합니다")
                 .build());
+        save.updateLastMessage(welcome);
         return new ChatRoomCreateResponseDto(save);
     }
 
@@ -69,4 +75,73 @@ public class ChatService {
 
         return new ChatSenderDto(user.getUsername());
     }
+
+    /**
+     * 채팅방 메시지를 최신순으로 limit 개씩 조회한다. after 는 이전 페이지의 마지막(가장 오래된) 메시지 커서다.
+     */
+    public CursorResponse<ChatResponse> readChatHistory(final Long roomId, final Long userId, final Long after, final int limit) {
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+                .orElseThrow(() -> new MarketAppException(NOT_FOUND_CHAT_ROOM, NOT_FOUND_CHAT_ROOM.getMessage()));
+        if (!chatRoom.isMember(userId)) {
+            throw new MarketAppException(NOT_CHAT_ROOM_MEMBER, NOT_CHAT_ROOM_MEMBER.getMessage());
+        }
+
+        // 최근 메시지는 버퍼에서 꺼내고, 버퍼보다 오래된 페이지만 DB 에서 읽는다.
+        if (after == null && recentChatBuffer.enabled()) {
+            recent(roomId);
+        }
+        RecentChatBuffer.Page page = recentChatBuffer.page(roomId, after, limit);
+        if (page != null) {
+            return CursorResponse.of(new SliceImpl<>(page.content(), PageRequest.of(0, limit), page.hasNext()), ChatResponse::getId);
+        }
+
+        return CursorResponse.of(findChats(roomId, after, limit), ChatResponse::getId);
+    }
+
+    /**
+     * 채팅방의 현재 마지막 메시지까지 읽음 처리한다. 읽은 위치는 뒤로 돌아가지 않는다.
+     */
+    @Transactional
+    public void readChatRoom(final Long roomId, final Long userId) {
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+                .orElseThrow(() -> new MarketAppException(NOT_FOUND_CHAT_ROOM, NOT_FOUND_CHAT_ROOM.getMessage()));
+        if (!chatRoom.isMember(userId)) {
+            throw new MarketAppException(NOT_CHAT_ROOM_MEMBER, NOT_CHAT_ROOM_MEMBER.getMessage());
+        }
+
+        // 쓰기 지연 중인 메시지는 아직 없으므로 버퍼(저장된 최신 메시지)와 채팅방 기록 중 큰 값을 쓴다.
+        List<ChatResponse> recent = recent(roomId);
+        long lastChatId = Math.max(recent.isEmpty() ? 0L : recent.get(0).getId(),
+                chatRoom.getLastChatId() == null ? 0L : chatRoom.getLastChatId());
+        if (lastChatId == 0L) {
+            return;
+        }
+
+        if (chatRoom.getBuyer().getId().equals(userId)) {
+            chatRoomRepository.updateBuyerLastReadChatId(roomId, userId, lastChatId);
+        } else {
+            chatRoomRepository.updateSellerLastReadChatId(roomId, userId, lastChatId);
+        }
+    }
+
+    /**
+     * 채팅방 입장 화면에 보여줄 최근 메시지 limit 개를 오래된 순으로 돌려준다.
+     */
+    public List<ChatResponse> readRecentChats(final Long roomId, final int limit) {
+        List<ChatResponse> recent = limit <= recentChatBuffer.capacity()
+                ? recent(roomId)
+                : findChats(roomId, null, limit).getContent();
+
+        List<ChatResponse> chats = new ArrayList<>(recent.subList(0, Math.min(limit, recent.size())));
+        Collections.reverse(chats);
+        return chats;
+    }
+
+    private List<ChatResponse> recent(final Long roomId) {
+        return recentChatBuffer.recent(roomId, () -> findChats(roomId, null, recentChatBuffer.capacity()).getContent());
+    }
+
+    private Slice<ChatResponse> findChats(final Long roomId, final Long after, final int limit) {
+        return chatRepository.findAllByChatRoomIdAndIdLessThan(roomId, after == null ? Long.MAX_VALUE : after, PageRequest.of(0, limit));
+    }
 }
@@ -0,0 +1,237 @@
+package com.example.market.service.chat;
+
+import com.example.market.api.controller.chat.response.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방마다 최근 메시지 capacity 개를 들고 있는 링 버퍼.
+ * 전체 메모리 사용량(추정치)이 max-bytes 를 넘으면 가장 오래 안 쓴 채팅방부터 버린다(LRU).
+ *
+ * 메시지는 DB 에 저장되어 id 가 생긴 뒤에 append 되므로 버퍼와 DB 의 순서가 항상 같다.
+ * 버퍼에 없는 채팅방은 처음 읽을 때 DB 에서 최근 메시지를 한 번 읽어 채운다.
+ *
+ * 버퍼는 이 서버에서 저장한 메시지만 받는다. 여러 서버가 브로커를 공유하는 모드(market.chat.broker.mode 가 simple 이 아님)에서는
+ * 다른 서버가 저장한 메시지가 빠진 오래된 기록을 돌려주게 되므로 버퍼를 끄고 항상 DB 에서 읽는다.
+ */
+@Component
+public class RecentChatBuffer {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final int capacity;
+    private final long maxBytes;
+    private final boolean enabled;
+
+    // access-order LinkedHashMap 으로 LRU 를 만든다. 모든 접근은 this 로 동기화한다.
+    private final LinkedHashMap<Long, RoomBuffer> rooms = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public RecentChatBuffer(@Value("${market.chat.recent.capacity:50}") final int capacity,
+                            @Value("${market.chat.recent.max-bytes:67108864}") final long maxBytes,
+                            @Value("${market.chat.broker.mode:simple}") final String brokerMode) {
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+        this.enabled = "simple".equals(brokerMode.trim());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 저장된 메시지를 버퍼에 넣는다. 버퍼에 없는 채팅방이면 무시한다(다음에 읽을 때 DB 에서 채운다).
+     */
+    public synchronized void append(final ChatResponse chat) {
+        if (!enabled) {
+            return;
+        }
+        RoomBuffer room = rooms.get(chat.getRoomId());
+        if (room == null) {
+            return;
+        }
+        totalBytes += room.add(chat);
+        evict();
+    }
+
+    /**
+     * 채팅방의 최근 메시지를 최신순으로 돌려준다.
+     * 버퍼에 없으면 loader(최신순, 최대 capacity 개)로 채우는데, 그동안 append 된 메시지도 잃지 않도록
+     * 빈 버퍼를 먼저 등록해 두고 읽어 온 메시지와 합친다.
+     * 배포 직후처럼 같은 채팅방에 동시에 들어오면 한 요청만 DB 를 읽고 나머지는 그 결과를 기다린다.
+     */
+    public List<ChatResponse> recent(final Long roomId, final Supplier<List<ChatResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        RoomBuffer room;
+        boolean owner = false;
+        synchronized (this) {
+            room = rooms.get(roomId);
+            if (room != null && room.loaded) {
+                return room.newestFirst();
+            }
+            if (room == null) {
+                room = new RoomBuffer(capacity);
+                rooms.put(roomId, room);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            room.loading.join();
+            synchronized (this) {
+                if (room.loaded) {
+                    return room.newestFirst();
+                }
+            }
+            return loader.get();
+        }
+
+        try {
+            List<ChatResponse> loaded = loader.get();
+            synchronized (this) {
+                long added = room.seed(loaded, loaded.size() < capacity);
+                // 읽는 사이에 LRU 로 밀려났으면 메모리 계산에서 빠진 상태이므로 더하지 않는다.
+                if (rooms.get(roomId) == room) {
+                    totalBytes += added;
+                    evict();
+                }
+                return room.newestFirst();
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (rooms.get(roomId) == room) {
+                    totalBytes -= room.bytes;
+                    rooms.remove(roomId);
+                }
+            }
+            throw e;
+        } finally {
+            room.loading.complete(null);
+        }
+    }
+
+    /**
+     * after 보다 오래된 메시지 limit 개를 버퍼만으로 채울 수 있으면 최신순으로 돌려주고, 아니면 null 을 돌려준다.
+     */
+    public synchronized Page page(final Long roomId, final Long after, final int limit) {
+        RoomBuffer room = rooms.get(roomId);
+        if (room == null || !room.loaded) {
+            return null;
+        }
+
+        List<ChatResponse> older = room.newestFirst().stream()
+                .filter(chat -> after == null || chat.getId() < after)
+                .toList();
+        if (older.size() > limit) {
+            return new Page(older.subList(0, limit), true);
+        }
+        if (room.wholeHistory) {
+            return new Page(older, false);
+        }
+        // 버퍼보다 오래된 메시지가 DB 에 남아 있다.
+        return older.size() == limit ? new Page(older, true) : null;
+    }
+
+    /**
+     * 버퍼에 있는 채팅방의 마지막 메시지 id. 버퍼에 없거나 메시지가 없으면 null 을 돌려준다.
+     */
+    public synchronized Long latestId(final Long roomId) {
+        RoomBuffer room = rooms.get(roomId);
+        if (room == null || !room.loaded || room.size == 0) {
+            return null;
+        }
+        return room.chats[(room.head - 1 + room.chats.length) % room.chats.length].getId();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Long, RoomBuffer>> iterator = rooms.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    private static long sizeOf(final ChatResponse chat) {
+        int chars = (chat.getWriter() == null ? 0 : chat.getWriter().length())
+                + (chat.getContent() == null ? 0 : chat.getContent().length());
+        return ENTRY_OVERHEAD_BYTES + 2L * chars;
+    }
+
+    public record Page(List<ChatResponse> content, boolean hasNext) {
+    }
+
+    private static final class RoomBuffer {
+
+        private final ChatResponse[] chats;
+        private int head; // 다음에 쓸 위치
+        private int size;
+        private long bytes;
+        private boolean loaded;
+        private boolean wholeHistory; // 채팅방의 모든 메시지가 버퍼 안에 있는지
+        private final CompletableFuture<Void> loading = new CompletableFuture<>();
+
+        RoomBuffer(final int capacity) {
+            this.chats = new ChatResponse[capacity];
+        }
+
+        // 반환값은 늘어난 바이트 수
+        long add(final ChatResponse chat) {
+            long before = bytes;
+            if (size == chats.length) {
+                bytes -= sizeOf(chats[head]);
+                wholeHistory = false;
+            } else {
+                size++;
+            }
+            chats[head] = chat;
+            bytes += sizeOf(chat);
+            head = (head + 1) % chats.length;
+            return bytes - before;
+        }
+
+        long seed(final List<ChatResponse> newestFirst, final boolean wholeHistory) {
+            List<ChatResponse> appended = newestFirst();
+            long maxLoadedId = newestFirst.isEmpty() ? Long.MIN_VALUE : newestFirst.get(0).getId();
+
+            List<ChatResponse> merged = new ArrayList<>(newestFirst);
+            appended.stream()
+                    .filter(chat -> chat.getId() > maxLoadedId)
+                    .forEach(merged::add);
+            merged.sort(Comparator.comparing(ChatResponse::getId));
+
+            long before = bytes;
+            head = 0;
+            size = 0;
+            bytes = 0;
+            this.wholeHistory = wholeHistory;
+            for (ChatResponse chat : merged) {
+                add(chat);
+            }
+            loaded = true;
+            return bytes - before;
+        }
+
+        List<ChatResponse> newestFirst() {
+            List<ChatResponse> result = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                result.add(chats[(head - i + chats.length) % chats.length]);
+            }
+            return result;
+        }
+    }
+}
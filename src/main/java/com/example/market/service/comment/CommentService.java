@@ -3,6 +3,7 @@ package com.example.market.service.comment;
 import com.example.market.domain.comment.Comment;
 import com.example.market.domain.item.Item;
 import com.example.market.domain.user.User;
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.comment.request.CommentCreateRequestDto;
 import com.example.market.api.controller.comment.request.CommentReplyRequestDto;
 import com.example.market.api.controller.comment.request.CommentUpdateRequestDto;
@@ -16,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -55,6 +57,14 @@ public class CommentService {
         return commentListResponseDto;
     }
 
+    public CursorResponse<CommentResponse> readCommentListByCursor(final Long itemId, final Long after, final int limit) {
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("id").ascending());
+
+        Slice<Comment> comments = commentRepository.findAllByItemIdAndIdGreaterThan(itemId, after == null ? 0L : after, pageable);
+
+        return CursorResponse.of(comments.map(CommentResponse::of), CommentResponse::getId);
+    }
+
     @Transactional
     public CommentResponse updateComment(final Long itemId, final Long commentId, final CommentUpdateRequestDto dto, final Long userId) {
         Item item = itemRepository.findById(itemId)
@@ -0,0 +1,178 @@
+package com.example.market.service.item;
+
+import com.example.market.domain.item.Item;
+import com.example.market.domain.item.ItemRepository;
+import com.example.market.service.item.event.ItemChangedEvent;
+import com.example.market.service.media.MediaStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * 원본 상품 이미지로 목록용 썸네일과 상세용 이미지를 만든다.
+ * 업로드 응답을 늦추지 않도록 imageTaskExecutor 에서 비동기로 처리하고,
+ * 그 사이 이미지가 다시 바뀌었으면 결과를 반영하지 않는다.
+ * 디코딩하면 메모리가 (가로 * 세로 * 4)바이트만큼 필요해서, 헤더의 크기가 maxPixels 를 넘는 이미지는 디코딩하지 않는다.
+ */
+@Slf4j
+@Component
+public class ItemImageVariantGenerator {
+
+    static final int THUMBNAIL_WIDTH = 320;
+    static final int DETAIL_WIDTH = 1080;
+
+    private final ItemRepository itemRepository;
+    private final MediaStore mediaStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor imageTaskExecutor;
+    private final long maxPixels;
+
+    public ItemImageVariantGenerator(final ItemRepository itemRepository,
+                                     final MediaStore mediaStore,
+                                     final TransactionTemplate transactionTemplate,
+                                     final ApplicationEventPublisher eventPublisher,
+                                     @Qualifier("imageTaskExecutor") final TaskExecutor imageTaskExecutor,
+                                     @Value("${market.image.max-pixels:40000000}") final long maxPixels) {
+        this.itemRepository = itemRepository;
+        this.mediaStore = mediaStore;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.imageTaskExecutor = imageTaskExecutor;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * 큐가 가득 차면 요청 스레드에서 디코딩하지 않고 변환을 건너뛴다. 그 상품은 원본 이미지만 가진다.
+     */
+    public void generateAsync(final Long itemId, final String imageUrl) {
+        try {
+            imageTaskExecutor.execute(() -> {
+                try {
+                    generate(itemId, imageUrl);
+                } catch (RuntimeException e) {
+                    log.error("failed to generate image variants. itemId = {}", itemId, e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("image task queue is full, skip image variants. itemId = {}", itemId);
+        }
+    }
+
+    void generate(final Long itemId, final String imageUrl) {
+        String format = imageUrl.substring(imageUrl.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        BufferedImage original = read(imageUrl);
+        if (original == null || !ImageIO.getImageWritersBySuffix(format).hasNext()) {
+            log.warn("unsupported item image. itemId = {}, imageUrl = {}", itemId, imageUrl);
+            return;
+        }
+
+        String thumbnailUrl = writeVariant(original, THUMBNAIL_WIDTH, format);
+        String detailUrl = writeVariant(original, DETAIL_WIDTH, format);
+
+        // 여기서 참조하지 못한 파일은 MediaGarbageCollector 가 정리한다.
+        transactionTemplate.executeWithoutResult(status -> itemRepository.findById(itemId)
+                // 리사이즈 하는 동안 상품이 삭제되었거나 이미지가 다시 바뀌었으면 반영하지 않는다.
+                .filter(item -> imageUrl.equals(item.getImageUrl()))
+                .ifPresent(item -> {
+                    String previousThumbnailUrl = item.getThumbnailUrl();
+                    String previousDetailUrl = item.getDetailUrl();
+                    // 버전을 올리지 않는 조건부 update 라서 동시에 진행 중인 상품 수정, 수락/확정이 충돌로 실패하지 않는다.
+                    int updated = itemRepository.updateImageVariants(itemId, imageUrl,
+                            previousThumbnailUrl == null ? "" : previousThumbnailUrl, thumbnailUrl, detailUrl);
+                    if (updated == 0) {
+                        return;
+                    }
+                    mediaStore.retain(thumbnailUrl);
+                    mediaStore.retain(detailUrl);
+                    mediaStore.release(previousThumbnailUrl);
+                    mediaStore.release(previousDetailUrl);
+                    itemRepository.findById(itemId)
+                            .ifPresent(saved -> eventPublisher.publishEvent(ItemChangedEvent.saved(saved)));
+                }));
+    }
+
+    private BufferedImage read(final String imageUrl) {
+        try {
+            return read(mediaStore.pathOf(imageUrl).toFile(), maxPixels);
+        } catch (IOException e) {
+            log.error(e.getMessage());
+            return null;
+        }
+    }
+
+    // 헤더에서 가로/세로만 먼저 읽고, maxPixels 를 넘거나 읽을 수 없는 형식이면 null 을 돌려준다.
+    static BufferedImage read(final File file, final long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("image is too large to decode. file = {}, pixels = {}", file.getName(), pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private String writeVariant(final BufferedImage original, final int width, final String format) {
+        BufferedImage resized = resize(original, width, format);
+        return mediaStore.store(path -> {
+            if (!ImageIO.write(resized, format, path.toFile())) {
+                throw new IOException("no image writer for " + format);
+            }
+        }, format);
+    }
+
+    // 원본이 더 작으면 키우지 않는다. png 가 아니면(jpg, bmp 등) 알파 채널을 쓸 수 없어서 RGB 로 그린다.
+    static BufferedImage resize(final BufferedImage original, final int maxWidth, final String format) {
+        int width = Math.min(maxWidth, original.getWidth());
+        int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+        boolean opaque = !format.equals("png");
+
+        BufferedImage resized = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (opaque) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+}
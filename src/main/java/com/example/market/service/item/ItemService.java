@@ -1,8 +1,10 @@
 package com.example.market.service.item;
 
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.item.request.ItemStatusUpdateRequest;
 import com.example.market.domain.item.Item;
 import com.example.market.domain.item.ItemStatus;
+import com.example.market.domain.user.SearchScope;
 import com.example.market.domain.user.User;
 import com.example.market.api.controller.item.request.ItemCreateRequestDto;
 import com.example.market.api.controller.item.request.ItemUpdateRequestDto;
@@ -10,19 +12,33 @@ import com.example.market.api.controller.item.response.ItemResponse;
 import com.example.market.exception.MarketAppException;
 import com.example.market.domain.item.ItemRepository;
 import com.example.market.domain.user.UserRepository;
+import com.example.market.service.item.cache.ItemResponseCache;
+import com.example.market.service.item.event.ItemChangedEvent;
+import com.example.market.service.item.index.ItemGeoIndex;
+import com.example.market.service.item.index.ItemTextIndex;
+import com.example.market.service.media.MediaStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.LongPredicate;
 
 import static com.example.market.domain.item.ItemStatus.forDisplay;
 import static com.example.market.domain.item.ItemStatus.forSold;
@@ -34,8 +50,17 @@ import static com.example.market.exception.ErrorCode.*;
 @Service
 public class ItemService {
 
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp");
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemGeoIndex itemGeoIndex;
+    private final ItemTextIndex itemTextIndex;
+    private final ItemResponseCache itemResponseCache;
+    private final MediaStore mediaStore;
+    private final ItemImageVariantGenerator itemImageVariantGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ItemResponse create(final ItemCreateRequestDto request, final Long userId) {
@@ -43,17 +68,21 @@ public class ItemService {
                 .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
 
         Item item = itemRepository.save(request.toEntity(user));
+        eventPublisher.publishEvent(ItemChangedEvent.saved(item));
 
         return ItemResponse.of(item);
     }
 
     public Page<ItemResponse> readItemList(final int page, final int limit) {
         Pageable pageable = PageRequest.of(page, limit, Sort.by("id").descending());
-        Page<Item> itemList = itemRepository.findAll(pageable);
+        return itemRepository.findAllItemResponses(pageable);
+    }
 
-        Page<ItemResponse> result = itemList.map(ItemResponse::of);
+    public CursorResponse<ItemResponse> readItemListByCursor(final Long after, final int limit) {
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("id").descending());
+        Slice<ItemResponse> itemList = itemRepository.findAllByIdLessThan(descendingCursor(after), pageable);
 
-        return result;
+        return CursorResponse.of(itemList, ItemResponse::getId);
     }
 
     public Page<ItemResponse> readItemListTest(final Long userId, final int page, final int limit) {
@@ -61,19 +90,61 @@ public class ItemService {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
-        Page<Item> itemList = itemRepository.customFindAllByDistance(pageable, user.getLocation(), user.getSearchScope().getScope());
-//        Page<Item> itemList = itemRepository.customFindAllByDistance(pageable, user.getLocation());
+        SearchScope searchScope = user.getSearchScope();
+        if (itemGeoIndex.isReady()) {
+            return itemGeoIndex.search(user.getLocation(), searchScope.getScope(), pageable);
+        }
+
+        return itemRepository.customFindAllByDistance(pageable, user.getLocation(),
+                searchScope.toBoundingBox(user.getLocation()), searchScope.getScope());
+    }
 
-        Page<ItemResponse> result = itemList.map(ItemResponse::of);
+    /**
+     * 제목/내용 검색. statuses 를 비워 두면 목록 화면과 같이 판매중/예약중 상품만 찾고, 판매완료 상품은 SOLD 를 지정했을 때만 나온다.
+     * nearby 는 로그인한 회원의 검색 범위 안에 있는 상품만 남긴다. 위치 인덱스는 판매중/예약중 상품만 들고 있어서,
+     * 인덱스가 아직 적재 중이거나 SOLD 를 찾을 때는 범위 안의 상품 id 를 DB 에서 거리로 조회해서 거른다.
+     */
+    public Page<ItemResponse> searchItems(final String query, final List<ItemStatus> statuses, final boolean nearby,
+                                          final Long userId, final int page, final int limit) {
+        Pageable pageable = PageRequest.of(page, limit, Sort.by("id").descending());
+        List<ItemStatus> searchStatuses = statuses.isEmpty() ? forDisplay() : statuses;
+
+        LongPredicate filter = itemId -> true;
+        if (nearby) {
+            if (userId == null) {
+                throw new MarketAppException(REQUIRED_LOGIN, REQUIRED_LOGIN.getMessage());
+            }
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
+            filter = nearbyFilter(user, searchStatuses);
+        }
 
-        return result;
+        return itemTextIndex.search(query, searchStatuses, filter, pageable);
     }
 
+    private LongPredicate nearbyFilter(final User user, final List<ItemStatus> statuses) {
+        SearchScope searchScope = user.getSearchScope();
+        if (itemGeoIndex.isReady() && forDisplay().containsAll(statuses)) {
+            return itemId -> itemGeoIndex.isWithin(itemId, user.getLocation(), searchScope.getScope());
+        }
+
+        Set<Long> itemIds = new HashSet<>(itemRepository.findIdsByDistance(user.getLocation(),
+                searchScope.toBoundingBox(user.getLocation()), searchScope.getScope()));
+        return itemIds::contains;
+    }
+
+    /**
+     * 캐시를 채우는 조회는 호출한 쪽 트랜잭션 밖에서 새 트랜잭션으로 한다.
+     * 미리 열린 트랜잭션의 스냅숏으로 읽으면, 수정 커밋 후 무효화가 끝난 뒤에 커밋 전 상태가 다시 캐시에 들어갈 수 있다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ItemResponse readItemOne(Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new MarketAppException(NOT_FOUND_ITEM, NOT_FOUND_ITEM.getMessage()));
+        return itemResponseCache.get(itemId, id -> transactionTemplate.execute(status -> {
+            Item item = itemRepository.findById(id)
+                    .orElseThrow(() -> new MarketAppException(NOT_FOUND_ITEM, NOT_FOUND_ITEM.getMessage()));
 
-        return ItemResponse.of(item);
+            return ItemResponse.of(item);
+        }));
     }
 
     @Transactional
@@ -89,6 +160,7 @@ public class ItemService {
         }
 
         item.update(dto);
+        eventPublisher.publishEvent(ItemChangedEvent.saved(item));
         return ItemResponse.of(item);
     }
 
@@ -105,53 +177,52 @@ public class ItemService {
         }
 
         itemRepository.delete(item);
+        releaseImages(item);
+        eventPublisher.publishEvent(ItemChangedEvent.deleted(item));
         return ItemResponse.of(item);
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ItemResponse updateItemImage(Long itemId, MultipartFile image, Long userId) throws IOException {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new MarketAppException(NOT_FOUND_ITEM, NOT_FOUND_ITEM.getMessage()));
-
-        // TODO: 해결해야 됨
-//        checkWriterAndPassword(writer, password, item);
-
-        // 파일 어디에 업로드? -> media/{userId}/profile.{파일 확장자}
-        String profileDir = String.format("media/%d/", itemId);
-        try {
-            // 폴더만 만드는 과정
-            Files.createDirectories(Path.of(profileDir));
-        } catch (IOException e) {
-            log.error(e.getMessage());
-            throw new MarketAppException(SERVER_ERROR, SERVER_ERROR.getMessage());
-        }
+        // img.jpg -> "jpg", 확장자가 없으면 null
+        String extension = StringUtils.getFilenameExtension(image.getOriginalFilename());
 
-        // 확장자를 포함한 이미지 이름 만들기 profile.{확장자}
-        String originalFilename = image.getOriginalFilename();
-
-        // img.jpg -> fileNameSplit = {"img", "jpg"}
-        String[] fileNameSplit = originalFilename.split("\\.");
+        return updateItemImage(itemId, image.getInputStream(), extension, userId);
+    }
 
-        String extension = fileNameSplit[fileNameSplit.length - 1];
-        String profileFilename = "profile." +extension;
+    /**
+     * 파일 저장은 트랜잭션 밖에서 하고, imageUrl 변경만 짧은 트랜잭션으로 처리한다.
+     * 썸네일/상세 이미지는 커밋 후 별도 스레드 풀에서 만든다.
+     * 상품을 등록한 회원만 바꿀 수 있고, 확장자는 jpg, jpeg, png, gif, webp 만 받는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ItemResponse updateItemImage(Long itemId, InputStream image, String extension, Long userId) {
+        Long sellerId = itemRepository.findSellerIdById(itemId)
+                .orElseThrow(() -> new MarketAppException(NOT_FOUND_ITEM, NOT_FOUND_ITEM.getMessage()));
+        if (!sellerId.equals(userId)) {
+            throw new MarketAppException(INVALID_WRITER, INVALID_WRITER.getMessage());
+        }
+        if (extension == null || !IMAGE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+            throw new MarketAppException(INVALID_IMAGE_TYPE, INVALID_IMAGE_TYPE.getMessage());
+        }
 
-        // 폴더와 파일 경로를 포함한 이름 만들기
-        String profilePath = profileDir + profileFilename;
-        Path path = Path.of(profilePath);
+        String imageUrl = mediaStore.store(image, extension);
 
-        // MultipartFile 저장하기
-        try {
-            image.transferTo(path);
-        } catch (IOException e) {
-            e.getMessage();
-            throw new MarketAppException(SERVER_ERROR, SERVER_ERROR.getMessage());
-        }
+        ItemResponse response = transactionTemplate.execute(status -> {
+            Item item = itemRepository.findById(itemId)
+                    .orElseThrow(() -> new MarketAppException(NOT_FOUND_ITEM, NOT_FOUND_ITEM.getMessage()));
 
+            // 새 이미지를 먼저 참조해야 같은 사진을 다시 올렸을 때 참조 수가 잠깐 0 이 되지 않는다.
+            mediaStore.retain(imageUrl);
+            releaseImages(item);
+            item.updateItemImage(imageUrl);
+            eventPublisher.publishEvent(ItemChangedEvent.saved(item));
 
-        // itemUpdate
-        item.updateItemImage(String.format("/static/%d/%s", itemId, profileFilename));
+            return ItemResponse.of(item);
+        });
 
-        return ItemResponse.of(item);
+        itemImageVariantGenerator.generateAsync(itemId, imageUrl);
+        return response;
     }
 
     @Transactional
@@ -167,6 +238,7 @@ public class ItemService {
         }
 
         item.updateStatus(request.getStatus());
+        eventPublisher.publishEvent(ItemChangedEvent.saved(item));
 
         return ItemResponse.of(item);
     }
@@ -177,11 +249,7 @@ public class ItemService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
 
-        Page<Item> itemList = itemRepository.findAllByStatusInAndUserId(forDisplay(), pageable, userId);
-
-        Page<ItemResponse> result = itemList.map(ItemResponse::of);
-
-        return result;
+        return itemRepository.findAllByStatusInAndUserId(forDisplay(), pageable, userId);
     }
 
     public Page<ItemResponse> readMyItemListForSold(final Long userId, final int page) {
@@ -190,11 +258,21 @@ public class ItemService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
 
-        Page<Item> itemList = itemRepository.findAllByStatusAndUserId(forSold(), pageable, userId);
+        return itemRepository.findAllByStatusAndUserId(forSold(), pageable, userId);
+    }
+
+    public CursorResponse<ItemResponse> readMyItemListForSaleByCursor(final Long userId, final Long after, final int limit) {
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("id").descending());
+        Slice<ItemResponse> itemList = itemRepository.findAllByStatusInAndUserIdAndIdLessThan(forDisplay(), userId, descendingCursor(after), pageable);
+
+        return CursorResponse.of(itemList, ItemResponse::getId);
+    }
 
-        Page<ItemResponse> result = itemList.map(ItemResponse::of);
+    public CursorResponse<ItemResponse> readMyItemListForSoldByCursor(final Long userId, final Long after, final int limit) {
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("id").descending());
+        Slice<ItemResponse> itemList = itemRepository.findAllByStatusAndUserIdAndIdLessThan(forSold(), userId, descendingCursor(after), pageable);
 
-        return result;
+        return CursorResponse.of(itemList, ItemResponse::getId);
     }
 
     public Page<ItemResponse> readUserItemListForSale(final Long myId, final Long userId, final int page) {
@@ -206,11 +284,7 @@ public class ItemService {
         User my = userRepository.findById(myId)
                 .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
 
-        Page<Item> itemList = itemRepository.findAllByStatusInAndUserId(forDisplay(), pageable, userId);
-
-        Page<ItemResponse> result = itemList.map(ItemResponse::of);
-
-        return result;
+        return itemRepository.findAllByStatusInAndUserId(forDisplay(), pageable, userId);
     }
 
     public Page<ItemResponse> readUserItemListForSold(final Long myId, final Long userId, final int page) {
@@ -222,10 +296,16 @@ public class ItemService {
         User my = userRepository.findById(myId)
                 .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
 
-        Page<Item> itemList = itemRepository.findAllByStatusAndUserId(forSold(), pageable, userId);
+        return itemRepository.findAllByStatusAndUserId(forSold(), pageable, userId);
+    }
 
-        Page<ItemResponse> result = itemList.map(ItemResponse::of);
+    private void releaseImages(final Item item) {
+        mediaStore.release(item.getImageUrl());
+        mediaStore.release(item.getThumbnailUrl());
+        mediaStore.release(item.getDetailUrl());
+    }
 
-        return result;
+    private static Long descendingCursor(final Long after) {
+        return after == null ? Long.MAX_VALUE : after;
     }
 }
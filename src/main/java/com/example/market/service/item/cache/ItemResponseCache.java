@@ -0,0 +1,47 @@
+package com.example.market.service.item.cache;
+
+import com.example.market.api.controller.item.response.ItemResponse;
+import com.example.market.service.item.event.ItemChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 상품 단건 조회(ItemResponse) 캐시.
+ * 크기와 TTL 로 만료되고, 상품이 수정/삭제되면 커밋 이후에 무효화한다.
+ * 같은 키를 읽어 오는 중에 무효화하면 읽기가 끝날 때까지 기다렸다가 지우므로, loader 는 반드시 get 안에서 시작한 트랜잭션으로 읽어야 한다.
+ * hit/miss/eviction 지표는 /actuator/metrics/cache.* (cache=item) 로 확인할 수 있다.
+ */
+@Component
+public class ItemResponseCache {
+
+    private final Cache<Long, ItemResponse> cache;
+
+    public ItemResponseCache(@Value("${market.cache.item.maximum-size:10000}") final long maximumSize,
+                             @Value("${market.cache.item.expire-after-write-seconds:600}") final long expireAfterWriteSeconds,
+                             final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "item");
+    }
+
+    public ItemResponse get(final Long itemId, final Function<Long, ItemResponse> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onItemChanged(final ItemChangedEvent event) {
+        cache.invalidate(event.getItemId());
+    }
+}
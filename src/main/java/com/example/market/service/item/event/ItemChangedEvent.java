@@ -0,0 +1,29 @@
+package com.example.market.service.item.event;
+
+import com.example.market.api.controller.item.response.ItemResponse;
+import com.example.market.domain.item.Item;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Point;
+
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class ItemChangedEvent {
+
+    private final Long itemId;
+    private final boolean deleted;
+    private final ItemResponse item;
+    private final Long sellerId;
+    private final Point location;
+
+    public static ItemChangedEvent saved(final Item item) {
+        return new ItemChangedEvent(item.getId(), false, ItemResponse.of(item),
+                item.getUser().getId(), item.getUser().getLocation());
+    }
+
+    public static ItemChangedEvent deleted(final Item item) {
+        return new ItemChangedEvent(item.getId(), true, ItemResponse.of(item),
+                item.getUser().getId(), item.getUser().getLocation());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.market.service.item.index;
+
+import com.example.market.api.controller.item.response.ItemResponse;
+import com.example.market.domain.item.Item;
+import com.example.market.domain.item.ItemRepository;
+import com.example.market.service.item.event.ItemChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.market.domain.item.ItemStatus.forDisplay;
+
+/**
+ * 판매중/예약중 상품을 판매자 위치의 geohash 셀 단위로 들고 있는 메모리 인덱스.
+ * 셀마다 상품 id 를 정렬된 id 목록(SortedIds)으로 보관한다. 적재(id 순서)와 새 상품은 목록 뒤에 붙이기만 하고,
+ * 이미 만든 목록이 보는 범위는 바뀌지 않기 때문에 읽기는 락 없이 동작한다.
+ * 적재 중에 들어온 변경 이벤트는 모아 두었다가 적재가 끝난 뒤 순서대로 반영해서, 오래된 스냅샷이 최신 변경을 덮어쓰지 않게 한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ItemGeoIndex {
+
+    // geohash 4자리(20bit) - 경도 0.35도, 위도 0.18도 크기의 셀
+    private static final int BITS_PER_AXIS = 10;
+    private static final int CELLS_PER_AXIS = 1 << BITS_PER_AXIS;
+    private static final double EARTH_RADIUS = 6_370_986.0; // ST_Distance_Sphere 기본 반지름
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final int COUNT_AHEAD_PAGES = 10;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Map<Long, SortedIds> cells = new ConcurrentHashMap<>();
+    private final List<ItemChangedEvent> pendingEvents = new ArrayList<>(); // this 로 동기화
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long lastId = 0L;
+        List<Item> chunk;
+        do {
+            chunk = itemRepository.findAllWithUserByStatusInAndIdGreaterThan(
+                    forDisplay(), lastId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            for (Item item : chunk) {
+                put(item.getId(), ItemResponse.of(item), item.getUser().getLocation());
+                lastId = item.getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+        synchronized (this) {
+            pendingEvents.forEach(this::apply);
+            pendingEvents.clear();
+            ready = true;
+        }
+        log.info("item geo index loaded. size = {}", items.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onItemChanged(final ItemChangedEvent event) {
+        if (!ready) {
+            pendingEvents.add(event);
+            return;
+        }
+        apply(event);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized void put(final Long itemId, final ItemResponse item, final Point location) {
+        remove(itemId);
+        if (location == null) {
+            return;
+        }
+
+        long cell = cellOf(location.getX(), location.getY());
+        items.put(itemId, new IndexedItem(item, location.getX(), location.getY(), cell));
+        cells.put(cell, cells.getOrDefault(cell, SortedIds.EMPTY).add(itemId));
+    }
+
+    public synchronized void remove(final Long itemId) {
+        IndexedItem removed = items.remove(itemId);
+        if (removed == null) {
+            return;
+        }
+
+        SortedIds ids = cells.getOrDefault(removed.cell(), SortedIds.EMPTY).remove(itemId);
+        if (ids.isEmpty()) {
+            cells.remove(removed.cell());
+        } else {
+            cells.put(removed.cell(), ids);
+        }
+    }
+
+    /**
+     * center 로부터 radius(m) 이내의 상품을 id 내림차순으로 조회한다.
+     * 셀 안의 상품을 모두 확인하지 않도록, totalElements 는 현재 페이지부터 COUNT_AHEAD_PAGES 페이지 분량까지만 센다.
+     */
+    public Page<ItemResponse> search(final Point center, final double radius, final Pageable pageable) {
+        double lng = center.getX();
+        double lat = center.getY();
+        double latDelta = radius / METERS_PER_DEGREE;
+        double lngDelta = radius / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+
+        int minX = lngIndex(lng - lngDelta);
+        int maxX = lngIndex(lng + lngDelta);
+        int minY = latIndex(lat - latDelta);
+        int maxY = latIndex(lat + latDelta);
+
+        // 셀마다 이미 정렬되어 있으니 셀 목록을 뒤에서부터 병합하면서, 페이지를 채운 뒤에는 개수 상한까지만 센다.
+        PriorityQueue<Cursor> heap = new PriorityQueue<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                SortedIds ids = cells.get(interleave(x, y));
+                if (ids != null && !ids.isEmpty()) {
+                    heap.add(new Cursor(ids, ids.size() - 1));
+                }
+            }
+        }
+
+        List<ItemResponse> content = new ArrayList<>(pageable.getPageSize());
+        long offset = pageable.getOffset();
+        long countLimit = offset + (long) pageable.getPageSize() * COUNT_AHEAD_PAGES;
+        long total = 0;
+        while (!heap.isEmpty() && total < countLimit) {
+            Cursor cursor = heap.poll();
+            IndexedItem item = items.get(cursor.id());
+            if (cursor.index() > 0) {
+                heap.add(new Cursor(cursor.ids(), cursor.index() - 1));
+            }
+            if (item == null || distance(lat, lng, item.lat(), item.lng()) > radius) {
+                continue;
+            }
+            if (total >= offset && content.size() < pageable.getPageSize()) {
+                content.add(item.response());
+            }
+            total++;
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void apply(final ItemChangedEvent event) {
+        if (event.isDeleted() || !forDisplay().contains(event.getItem().getStatus())) {
+            remove(event.getItemId());
+            return;
+        }
+        put(event.getItemId(), event.getItem(), event.getLocation());
+    }
+
+    public boolean isWithin(final long itemId, final Point center, final double radius) {
+        IndexedItem item = items.get(itemId);
+        return item != null && distance(center.getY(), center.getX(), item.lat(), item.lng()) <= radius;
+    }
+
+    private static long cellOf(final double lng, final double lat) {
+        return interleave(lngIndex(lng), latIndex(lat));
+    }
+
+    private static int lngIndex(final double lng) {
+        return clamp((int) Math.floor((lng + 180.0) / 360.0 * CELLS_PER_AXIS));
+    }
+
+    private static int latIndex(final double lat) {
+        return clamp((int) Math.floor((lat + 90.0) / 180.0 * CELLS_PER_AXIS));
+    }
+
+    private static int clamp(final int index) {
+        return Math.max(0, Math.min(CELLS_PER_AXIS - 1, index));
+    }
+
+    // geohash 와 같은 순서(경도 비트가 먼저)로 비트를 섞는다.
+    private static long interleave(final int x, final int y) {
+        long hash = 0L;
+        for (int bit = BITS_PER_AXIS - 1; bit >= 0; bit--) {
+            hash = (hash << 1) | ((x >> bit) & 1);
+            hash = (hash << 1) | ((y >> bit) & 1);
+        }
+        return hash;
+    }
+
+    private static double distance(final double lat1, final double lng1, final double lat2, final double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private record IndexedItem(ItemResponse response, double lng, double lat, long cell) {
+    }
+
+    // 셀 배열에서 다음에 꺼낼 위치. id 가 큰 커서가 먼저 나온다.
+    private record Cursor(SortedIds ids, int index) implements Comparable<Cursor> {
+
+        long id() {
+            return ids.get(index);
+        }
+
+        @Override
+        public int compareTo(final Cursor other) {
+            return Long.compare(other.id(), id());
+        }
+    }
+}
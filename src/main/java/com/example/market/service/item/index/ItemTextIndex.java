@@ -0,0 +1,184 @@
+package com.example.market.service.item.index;
+
+import com.example.market.api.controller.item.response.ItemResponse;
+import com.example.market.domain.item.Item;
+import com.example.market.domain.item.ItemRepository;
+import com.example.market.domain.item.ItemStatus;
+import com.example.market.service.item.event.ItemChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * 상품 제목/내용에 대한 메모리 역색인.
+ * 한글은 띄어쓰기만으로 검색이 잘 안 되기 때문에 단어를 1-gram, 2-gram 으로 쪼개서 색인하고,
+ * 검색어의 n-gram 포스팅 목록(정렬된 id 목록)을 교집합한 뒤 원문에 검색어가 실제로 포함되는지 한 번 더 확인한다.
+ * 흔한 n-gram 은 대부분의 상품이 공유하므로, 적재(id 순서)와 새 상품 등록은 포스팅 목록 뒤에 붙이기만 한다(SortedIds).
+ * 판매완료 상품까지 모든 상태를 색인하므로 상태 조건은 검색하는 쪽에서 정한다.
+ * 적재 중에 들어온 변경 이벤트는 위치 인덱스와 같이 모아 두었다가 적재가 끝난 뒤에 반영한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ItemTextIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final int COUNT_AHEAD_PAGES = 10;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<String, SortedIds> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final List<ItemChangedEvent> pendingEvents = new ArrayList<>(); // this 로 동기화
+    private boolean loaded; // this 로 동기화
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long lastId = 0L;
+        List<Item> chunk;
+        do {
+            chunk = itemRepository.findAllWithUserByStatusInAndIdGreaterThan(
+                    List.of(ItemStatus.values()), lastId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            for (Item item : chunk) {
+                put(item.getId(), ItemResponse.of(item));
+                lastId = item.getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+        synchronized (this) {
+            pendingEvents.forEach(this::apply);
+            pendingEvents.clear();
+            loaded = true;
+        }
+        log.info("item text index loaded. size = {}", items.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onItemChanged(final ItemChangedEvent event) {
+        if (!loaded) {
+            pendingEvents.add(event);
+            return;
+        }
+        apply(event);
+    }
+
+    private void apply(final ItemChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getItemId());
+            return;
+        }
+        put(event.getItemId(), event.getItem());
+    }
+
+    public synchronized void put(final Long itemId, final ItemResponse item) {
+        remove(itemId);
+
+        String text = normalize(item.getTitle() + " " + item.getDescription());
+        Set<String> tokens = tokenize(text);
+        items.put(itemId, new IndexedItem(item, text, tokens));
+        for (String token : tokens) {
+            postings.put(token, postings.getOrDefault(token, SortedIds.EMPTY).add(itemId));
+        }
+    }
+
+    public synchronized void remove(final Long itemId) {
+        IndexedItem removed = items.remove(itemId);
+        if (removed == null) {
+            return;
+        }
+
+        for (String token : removed.tokens()) {
+            SortedIds ids = postings.getOrDefault(token, SortedIds.EMPTY).remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            } else {
+                postings.put(token, ids);
+            }
+        }
+    }
+
+    /**
+     * 검색어의 모든 단어를 포함하는 상품을 id 내림차순으로 조회한다.
+     * statuses 가 비어 있으면 상태로 거르지 않고, filter 로 반경 조건 등을 추가로 걸 수 있다.
+     * 전체 개수를 세려고 후보를 끝까지 확인하지 않도록, totalElements 는 현재 페이지부터 COUNT_AHEAD_PAGES 페이지 분량까지만 센다.
+     */
+    public Page<ItemResponse> search(final String query, final List<ItemStatus> statuses,
+                                     final LongPredicate filter, final Pageable pageable) {
+        String normalized = normalize(query);
+        List<String> terms = Arrays.stream(normalized.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+        if (terms.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        SortedIds candidates = null;
+        for (String term : terms) {
+            for (String token : tokenize(term)) {
+                SortedIds ids = postings.getOrDefault(token, SortedIds.EMPTY);
+                candidates = candidates == null ? ids : candidates.intersect(ids);
+                if (candidates.isEmpty()) {
+                    return new PageImpl<>(List.of(), pageable, 0);
+                }
+            }
+        }
+
+        List<ItemResponse> content = new ArrayList<>(pageable.getPageSize());
+        long offset = pageable.getOffset();
+        long countLimit = offset + (long) pageable.getPageSize() * COUNT_AHEAD_PAGES;
+        long total = 0;
+        for (int i = candidates.size() - 1; i >= 0 && total < countLimit; i--) {
+            long id = candidates.get(i);
+            IndexedItem item = items.get(id);
+            if (item == null || !item.containsAll(terms) || !filter.test(id)
+                    || (!statuses.isEmpty() && !statuses.contains(item.response().getStatus()))) {
+                continue;
+            }
+            if (total >= offset && content.size() < pageable.getPageSize()) {
+                content.add(item.response());
+            }
+            total++;
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static String normalize(final String text) {
+        return Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    // 단어마다 1-gram, 2-gram 을 만든다. 예) "자전거" -> 자, 전, 거, 자전, 전거
+    private static Set<String> tokenize(final String text) {
+        Set<String> tokens = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            int[] codePoints = word.codePoints().toArray();
+            for (int i = 0; i < codePoints.length; i++) {
+                tokens.add(new String(codePoints, i, 1));
+                if (i + 1 < codePoints.length) {
+                    tokens.add(new String(codePoints, i, 2));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedItem(ItemResponse response, String text, Set<String> tokens) {
+
+        boolean containsAll(final List<String> terms) {
+            return terms.stream().allMatch(text::contains);
+        }
+    }
+}
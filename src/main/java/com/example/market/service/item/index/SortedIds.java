@@ -0,0 +1,71 @@
+package com.example.market.service.item.index;
+
+import java.util.Arrays;
+
+/**
+ * 색인에서 쓰는 정렬된 id 목록. ids 의 앞 size 칸만 유효하다.
+ * 지금 가장 큰 id 보다 큰 id 를 넣을 때는 배열의 남는 칸에 쓰고 size 만 늘린 새 목록을 돌려준다(가득 차면 두 배로 늘린다).
+ * 그래서 id 순서대로 적재하거나 새 상품을 넣는 비용은 목록 길이와 상관없이 O(1) 이고, 그 밖의 추가/삭제만 배열을 복사한다.
+ *
+ * 이미 만든 목록이 보는 범위(size)는 바뀌지 않으므로, 쓰기를 한 번에 한 스레드에서 가장 최신 목록에만 하면 읽기는 락 없이 할 수 있다.
+ * 같은 이유로 삭제는 배열을 공유하지 않도록 항상 복사한다.
+ */
+record SortedIds(long[] ids, int size) {
+
+    static final SortedIds EMPTY = new SortedIds(new long[0], 0);
+
+    long get(final int index) {
+        return ids[index];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    SortedIds add(final long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            long[] target = size < ids.length ? ids : Arrays.copyOf(ids, Math.max(4, size * 2));
+            target[size] = id;
+            return new SortedIds(target, size + 1);
+        }
+
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return this;
+        }
+        int position = -index - 1;
+        long[] result = new long[size + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, size - position);
+        return new SortedIds(result, size + 1);
+    }
+
+    SortedIds remove(final long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return this;
+        }
+        long[] result = new long[size - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, size - index - 1);
+        return new SortedIds(result, size - 1);
+    }
+
+    SortedIds intersect(final SortedIds other) {
+        long[] result = new long[Math.min(size, other.size)];
+        int i = 0, j = 0, count = 0;
+        while (i < size && j < other.size) {
+            if (ids[i] < other.ids[j]) {
+                i++;
+            } else if (ids[i] > other.ids[j]) {
+                j++;
+            } else {
+                result[count++] = ids[i];
+                i++;
+                j++;
+            }
+        }
+        return new SortedIds(result, count);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.market.service.media;
+
+import java.nio.file.Path;
+
+/**
+ * media/ 아래의 실제 파일과, 응답 헤더를 만드는 데 필요한 메타데이터.
+ *
+ * @param etag      내용의 SHA-256 으로 만든 강한 ETag (따옴표 포함)
+ * @param immutable 파일 이름이 내용 해시라서 내용이 바뀔 일이 없는 파일인지
+ */
+public record MediaFile(Path path, long length, long lastModified, String etag, boolean immutable) {
+}
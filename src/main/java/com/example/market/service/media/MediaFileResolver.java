@@ -0,0 +1,91 @@
+package com.example.market.service.media;
+
+import com.example.market.exception.MarketAppException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.market.exception.ErrorCode.NOT_FOUND_MEDIA;
+import static com.example.market.exception.ErrorCode.SERVER_ERROR;
+
+/**
+ * /static/** 요청 경로를 media/ 아래 파일로 바꾸고 ETag 를 계산한다.
+ * 해시 계산은 파일 전체를 읽어야 하므로 (경로, 크기, 수정 시각) 이 같으면 캐시된 값을 쓰고,
+ * 이름 자체가 SHA-256 인 파일은 읽지 않고 이름을 그대로 ETag 로 쓴다.
+ */
+@Slf4j
+@Component
+public class MediaFileResolver {
+
+    private static final Path MEDIA_ROOT = MediaStore.ROOT.toAbsolutePath().normalize();
+    private static final Path TEMP_DIR = MediaStore.TEMP_DIR.toAbsolutePath().normalize();
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})(\\.[A-Za-z0-9]+)?");
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    private final Cache<Path, MediaFile> digests = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    public MediaFile resolve(final String relativePath) {
+        Path path = MEDIA_ROOT.resolve(relativePath).normalize();
+        // ../ 로 media 밖의 파일이나 업로드 중인 임시 파일을 읽지 못하게 막는다.
+        if (!path.startsWith(MEDIA_ROOT) || path.equals(MEDIA_ROOT) || path.startsWith(TEMP_DIR)) {
+            throw new MarketAppException(NOT_FOUND_MEDIA, NOT_FOUND_MEDIA.getMessage());
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new MarketAppException(NOT_FOUND_MEDIA, NOT_FOUND_MEDIA.getMessage());
+        }
+        if (!attributes.isRegularFile()) {
+            throw new MarketAppException(NOT_FOUND_MEDIA, NOT_FOUND_MEDIA.getMessage());
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Matcher matcher = CONTENT_ADDRESSED.matcher(path.getFileName().toString());
+        if (matcher.matches()) {
+            return new MediaFile(path, length, lastModified, quote(matcher.group(1)), true);
+        }
+
+        MediaFile cached = digests.getIfPresent(path);
+        if (cached != null && cached.length() == length && cached.lastModified() == lastModified) {
+            return cached;
+        }
+
+        MediaFile file = new MediaFile(path, length, lastModified, quote(sha256(path)), false);
+        digests.put(path, file);
+        return file;
+    }
+
+    private static String sha256(final Path path) {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(path), MessageDigest.getInstance("SHA-256"))) {
+            byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+            while (in.read(buffer) != -1) {
+                // 읽기만 하면 DigestInputStream 이 해시를 갱신한다.
+            }
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error(e.getMessage());
+            throw new MarketAppException(SERVER_ERROR, SERVER_ERROR.getMessage());
+        }
+    }
+
+    private static String quote(final String hash) {
+        return "\"" + hash + "\"";
+    }
+}
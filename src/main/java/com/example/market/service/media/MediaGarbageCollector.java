@@ -0,0 +1,163 @@
+package com.example.market.service.media;
+
+import com.example.market.domain.media.MediaObject;
+import com.example.market.domain.media.MediaObjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 아무 상품도 참조하지 않는 media 파일을 지운다.
+ * 1) 참조 수가 0 이 되고 유예 시간이 지난 파일
+ * 2) 저장은 됐지만 트랜잭션이 실패해서 참조 행이 생기지 않은 파일, 남아 있는 임시 파일
+ * 유예 시간 안에 같은 내용이 다시 올라오면 수정 시각이 갱신되므로 지우지 않는다.
+ */
+@Slf4j
+@Component
+public class MediaGarbageCollector {
+
+    private static final int SWEEP_CHUNK_SIZE = 500;
+    private static final Pattern FILE_PATTERN = Pattern.compile("([0-9a-f]{64})\\.[a-z0-9]+");
+
+    private final MediaObjectRepository mediaObjectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration grace;
+
+    public MediaGarbageCollector(final MediaObjectRepository mediaObjectRepository,
+                                 final TransactionTemplate transactionTemplate,
+                                 @Value("${market.media.gc-grace-minutes:60}") final long graceMinutes) {
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.grace = Duration.ofMinutes(graceMinutes);
+    }
+
+    @Scheduled(fixedDelayString = "${market.media.gc-interval-ms:3600000}", initialDelayString = "${market.media.gc-interval-ms:3600000}")
+    public void sweep() {
+        int unreferenced = sweepUnreferenced();
+        int orphans = sweepOrphans();
+        log.info("media gc finished. unreferenced = {}, orphans = {}", unreferenced, orphans);
+    }
+
+    int sweepUnreferenced() {
+        LocalDateTime threshold = LocalDateTime.now().minus(grace);
+        int deleted = 0;
+        List<MediaObject> garbage;
+        do {
+            garbage = mediaObjectRepository.findAllByRefCountAndUpdatedAtBefore(0, threshold, PageRequest.of(0, SWEEP_CHUNK_SIZE));
+            for (MediaObject object : garbage) {
+                // 조회 이후에 다시 참조되었을 수 있으므로 참조 수가 여전히 0 일 때만 지운다.
+                Integer removed = transactionTemplate.execute(status -> mediaObjectRepository.deleteIfUnreferenced(object.getHash()));
+                if (removed != null && removed == 1) {
+                    deleted += deleteFiles(object.getHash(), Instant.now().minus(grace));
+                }
+            }
+        } while (garbage.size() == SWEEP_CHUNK_SIZE);
+        return deleted;
+    }
+
+    // 파일마다 조회하지 않고 SWEEP_CHUNK_SIZE 개씩 모아서 hash in (...) 한 번으로 참조 행이 있는지 확인한다.
+    int sweepOrphans() {
+        Instant threshold = Instant.now().minus(grace);
+        int deleted = 0;
+        List<OrphanCandidate> candidates = new ArrayList<>(SWEEP_CHUNK_SIZE);
+        try (Stream<Path> files = walk(MediaStore.ROOT)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!isExpired(file, threshold)) {
+                    continue;
+                }
+                if (file.startsWith(MediaStore.TEMP_DIR)) {
+                    deleted += delete(file);
+                    continue;
+                }
+                Matcher matcher = FILE_PATTERN.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                candidates.add(new OrphanCandidate(file, matcher.group(1)));
+                if (candidates.size() == SWEEP_CHUNK_SIZE) {
+                    deleted += deleteOrphans(candidates);
+                    candidates.clear();
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            deleted += deleteOrphans(candidates);
+        }
+        return deleted;
+    }
+
+    private int deleteOrphans(final List<OrphanCandidate> candidates) {
+        Set<String> referenced = mediaObjectRepository.findExistingHashes(
+                candidates.stream().map(OrphanCandidate::hash).distinct().toList());
+        int deleted = 0;
+        for (OrphanCandidate candidate : candidates) {
+            if (!referenced.contains(candidate.hash())) {
+                deleted += delete(candidate.file());
+            }
+        }
+        return deleted;
+    }
+
+    private int deleteFiles(final String hash, final Instant threshold) {
+        Path dir = MediaStore.pathOf(hash, "bin").getParent();
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith(hash + ".") && isExpired(file, threshold)) {
+                    deleted += delete(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("failed to list media dir {}", dir);
+        }
+        return deleted;
+    }
+
+    private static Stream<Path> walk(final Path root) {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        try {
+            return Files.walk(root).filter(Files::isRegularFile);
+        } catch (IOException e) {
+            log.warn("failed to walk media dir {}", root);
+            return Stream.empty();
+        }
+    }
+
+    private static boolean isExpired(final Path file, final Instant threshold) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(threshold);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int delete(final Path file) {
+        try {
+            return Files.deleteIfExists(file) ? 1 : 0;
+        } catch (IOException e) {
+            log.warn("failed to delete media {}", file);
+            return 0;
+        }
+    }
+
+    private record OrphanCandidate(Path file, String hash) {
+    }
+}
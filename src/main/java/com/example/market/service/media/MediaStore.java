@@ -0,0 +1,221 @@
+package com.example.market.service.media;
+
+import com.example.market.domain.media.MediaObjectRepository;
+import com.example.market.exception.MarketAppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.market.exception.ErrorCode.SERVER_ERROR;
+import static com.example.market.exception.ErrorCode.TOO_LARGE_FILE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 내용의 SHA-256 을 이름으로 쓰는 파일 저장소. media/{해시 앞 2자리}/{다음 2자리}/{해시}.{확장자}
+ * 같은 사진은 한 번만 저장되고, 내용이 바뀌면 URL 도 바뀌므로 URL 을 영구히 캐시할 수 있다.
+ * 파일은 트랜잭션 밖에서 쓰고, 참조 수(retain/release)는 상품을 바꾸는 트랜잭션 안에서 바꾼다.
+ * 업로드 스트림은 max-upload-size 까지만 읽는다. multipart 가 아닌 요청은 서블릿 설정으로 크기가 제한되지 않기 때문이다.
+ */
+@Slf4j
+@Component
+public class MediaStore {
+
+    static final Path ROOT = Path.of("media");
+    static final Path TEMP_DIR = ROOT.resolve("tmp");
+
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+    private static final Pattern URL_PATTERN = Pattern.compile("/static/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z0-9]+");
+
+    private final MediaObjectRepository mediaObjectRepository;
+    private final long maxUploadBytes;
+
+    public MediaStore(final MediaObjectRepository mediaObjectRepository,
+                      @Value("${market.media.max-upload-size:10MB}") final DataSize maxUploadSize) {
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+    }
+
+    /**
+     * 업로드 스트림을 임시 파일로 채널 복사하면서 해시를 계산하고, 이미 같은 파일이 있으면 임시 파일을 버린다.
+     * max-upload-size 를 넘으면 읽기를 멈추고 임시 파일을 지운 뒤 TOO_LARGE_FILE 예외를 던진다.
+     */
+    public String store(final InputStream content, final String extension) {
+        InputStream limited = new LimitedInputStream(content, maxUploadBytes);
+        return write(extension, (temp, digest) -> {
+            try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(limited, digest));
+                 FileChannel target = FileChannel.open(temp, WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                    position += transferred;
+                }
+            }
+        });
+    }
+
+    /**
+     * 리사이즈 결과처럼 서버가 만든 파일을 저장한다. 다 쓴 뒤 파일을 다시 읽어 해시를 계산한다.
+     */
+    public String store(final FileWriter writer, final String extension) {
+        return write(extension, (temp, digest) -> {
+            writer.write(temp);
+            try (InputStream in = new DigestInputStream(Files.newInputStream(temp), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+        });
+    }
+
+    // 해시 저장소 이전에 올라온 /static/{itemId}/profile.{확장자} 도 같은 규칙으로 media/ 아래에 있다.
+    public Path pathOf(final String url) {
+        return ROOT.resolve(url.substring("/static/".length()));
+    }
+
+    /**
+     * 해시 저장소의 URL 이면 해시를, 아니면 null 을 돌려준다.
+     */
+    public static String hashOf(final String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = URL_PATTERN.matcher(url);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    public void retain(final String url) {
+        String hash = hashOf(url);
+        if (hash != null) {
+            mediaObjectRepository.retain(hash);
+        }
+    }
+
+    public void release(final String url) {
+        String hash = hashOf(url);
+        if (hash != null) {
+            mediaObjectRepository.release(hash, LocalDateTime.now());
+        }
+    }
+
+    static Path pathOf(final String hash, final String extension) {
+        return ROOT.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + "." + extension);
+    }
+
+    private String write(final String extension, final ContentWriter writer) {
+        String normalized = extension.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        if (normalized.isEmpty()) {
+            normalized = "bin";
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(TEMP_DIR);
+            temp = Files.createTempFile(TEMP_DIR, "upload-", ".tmp");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            writer.write(temp, digest);
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path target = pathOf(hash, normalized);
+            Files.createDirectories(target.getParent());
+            if (Files.exists(target)) {
+                // 이미 있는 파일이면 수정 시각만 갱신해서 GC 유예 시간 동안 지워지지 않게 한다.
+                Files.delete(temp);
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                Files.move(temp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            }
+            return String.format("/static/%s/%s/%s.%s", hash.substring(0, 2), hash.substring(2, 4), hash, normalized);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error(e.getMessage());
+            deleteQuietly(temp);
+            throw new MarketAppException(SERVER_ERROR, SERVER_ERROR.getMessage());
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface FileWriter {
+        void write(Path path) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ContentWriter {
+        void write(Path temp, MessageDigest digest) throws IOException;
+    }
+
+    // limit 바이트를 넘게 읽으려고 하면 예외를 던진다.
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(final InputStream in, final long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            long skipped = super.skip(n);
+            consume(skipped);
+            return skipped;
+        }
+
+        private void consume(final long bytes) {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new MarketAppException(TOO_LARGE_FILE, TOO_LARGE_FILE.getMessage());
+            }
+        }
+    }
+
+    private void deleteQuietly(final Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("failed to delete temp upload {}", path);
+        }
+    }
+}
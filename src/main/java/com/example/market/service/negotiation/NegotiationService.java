@@ -1,70 +1,189 @@
 package com.example.market.service.negotiation;
 
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.negotiation.request.NegotiationCreateRequestDto;
 import com.example.market.domain.item.Item;
 import com.example.market.domain.negotiation.Negotiation;
+import com.example.market.domain.negotiation.NegotiationStatus;
+import com.example.market.domain.negotiation.NegotiationTarget;
 import com.example.market.domain.item.ItemStatus;
-import com.example.market.domain.user.User;
 import com.example.market.api.controller.negotiation.response.NegotiationResponse;
 import com.example.market.exception.MarketAppException;
 import com.example.market.domain.item.ItemRepository;
 import com.example.market.domain.negotiation.NegotiationRepository;
 import com.example.market.domain.user.UserRepository;
+import com.example.market.service.item.event.ItemChangedEvent;
+import com.example.market.service.negotiation.event.NegotiationCreatedEvent;
+import com.example.market.service.negotiation.leaderboard.NegotiationLeaderboard;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
 import static com.example.market.exception.ErrorCode.*;
+import static com.example.market.domain.negotiation.NegotiationStatus.ACCEPT;
+import static com.example.market.domain.negotiation.NegotiationStatus.CONFIRM;
+import static com.example.market.domain.negotiation.NegotiationStatus.SUGGEST;
 
+@Slf4j
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Service
 public class NegotiationService {
 
+    private static final int MAX_ATTEMPTS = 3;
+
     private final NegotiationRepository negotiationRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NegotiationLeaderboard negotiationLeaderboard;
 
+    /**
+     * 검증에 필요한 값은 조회 한 번으로 가져오고, 상품과 회원은 프록시로만 참조해서 insert 까지 두 번만 DB 에 다녀온다.
+     * 동시에 같은 제안이 들어와도 (item_id, buyer_id) 유니크 제약으로 하나만 저장된다.
+     * 거절되거나 만료된 제안이 있으면 새로 저장하지 않고 그 행을 새 가격으로 다시 연다.
+     */
     @Transactional
     public NegotiationResponse createNegotiation(final Long itemId, final NegotiationCreateRequestDto request, final Long buyerId) {
-        Item item = itemRepository.findById(itemId)
+        NegotiationTarget target = negotiationRepository.findNegotiationTarget(itemId, buyerId)
                 .orElseThrow(() -> new MarketAppException(NOT_FOUND_ITEM, NOT_FOUND_ITEM.getMessage()));
 
-        User buyer = userRepository.findById(buyerId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (target.buyerUsername() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
 
-        validateDuplicateNegotiation(itemId, buyerId);
+        validateDuplicateNegotiation(target);
 
-        validateItemStatusIsSold(item);
+        validateItemStatusIsSold(target);
 
-        validateCannotNegotiateOwnItem(buyerId, item);
+        validateCannotNegotiateOwnItem(buyerId, target);
 
-        Negotiation negotiation = negotiationRepository.save(request.toEntity(item, buyer, item.getUser()));
+        Negotiation negotiation = target.negotiationId() == null
+                ? saveNegotiation(itemId, request, buyerId, target)
+                : reopenNegotiation(target.negotiationId(), request);
 
-        return NegotiationResponse.of(negotiation);
+        NegotiationResponse response = NegotiationResponse.builder()
+                .id(negotiation.getId())
+                .suggestedPrice(negotiation.getSuggestedPrice())
+                .status(negotiation.getStatus())
+                .username(target.buyerUsername())
+                .itemId(itemId)
+                .build();
+        eventPublisher.publishEvent(new NegotiationCreatedEvent(response));
+        return response;
     }
 
-    public Page<NegotiationResponse> getReceivedNegotiationItems(final Long userId, final int page) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
-        Page<Negotiation> negotiations = negotiationRepository.
-                findAllBySellerId(userId, PageRequest.of(page, 20, Sort.by("id").ascending()));
+    /**
+     * 판매자가 받은 제안을 가격이 높은 순으로 limit 개 조회한다. 메모리의 순위표를 먼저 보고, 없으면 DB 에서 읽어 채운다.
+     */
+    public List<NegotiationResponse> getTopNegotiations(final Long itemId, final Long sellerId, final int limit) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new MarketAppException(NOT_FOUND_ITEM, NOT_FOUND_ITEM.getMessage()));
+        if (!item.getUser().getId().equals(sellerId)) {
+            throw new MarketAppException(NOT_NEGOTIATION_MEMBER, NOT_NEGOTIATION_MEMBER.getMessage());
+        }
+
+        int size = Math.max(1, Math.min(limit, negotiationLeaderboard.topK()));
+        return negotiationLeaderboard.top(itemId, size,
+                () -> negotiationRepository.findTopByItemId(itemId, PageRequest.of(0, negotiationLeaderboard.topK())));
+    }
 
-        return negotiations.map(NegotiationResponse::of);
+    // userId 는 인증된 토큰에서 오므로 회원 존재 확인 없이 바로 조회한다. 없는 회원이면 빈 목록이다.
+    public Page<NegotiationResponse> getReceivedNegotiationItems(final Long userId, final int page) {
+        return negotiationRepository.findReceivedResponses(userId, PageRequest.of(page, 20, Sort.by("id").ascending()));
     }
 
     public Page<NegotiationResponse> getSentNegotiationItems(final Long userId, final int page) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new MarketAppException(NOT_FOUND_USER, NOT_FOUND_USER.getMessage()));
-        Page<Negotiation> negotiations = negotiationRepository.
-                findAllByBuyerId(userId, PageRequest.of(page, 20, Sort.by("id").ascending()));
+        return negotiationRepository.findSentResponses(userId, PageRequest.of(page, 20, Sort.by("id").ascending()));
+    }
 
-        return negotiations.map(NegotiationResponse::of);
+    public CursorResponse<NegotiationResponse> getReceivedNegotiationItemsByCursor(final Long userId, final Long after, final int limit) {
+        Slice<NegotiationResponse> negotiations = negotiationRepository.
+                findReceivedResponsesByIdGreaterThan(userId, after == null ? 0L : after, PageRequest.of(0, limit, Sort.by("id").ascending()));
+
+        return CursorResponse.of(negotiations, NegotiationResponse::getId);
+    }
+
+    public CursorResponse<NegotiationResponse> getSentNegotiationItemsByCursor(final Long userId, final Long after, final int limit) {
+        Slice<NegotiationResponse> negotiations = negotiationRepository.
+                findSentResponsesByIdGreaterThan(userId, after == null ? 0L : after, PageRequest.of(0, limit, Sort.by("id").ascending()));
+
+        return CursorResponse.of(negotiations, NegotiationResponse::getId);
+    }
+
+    /**
+     * 판매자가 제안을 수락한다. 제안은 수락, 상품은 예약중, 같은 상품의 다른 제안은 모두 거절이 한 트랜잭션에서 바뀐다.
+     * 락을 잡지 않고 @Version 으로 충돌을 확인하며, 충돌하면 새 트랜잭션에서 처음부터 다시 시도한다.
+     * 동시에 수락하면 서로 상대 제안을 거절하려다 데드락이 날 수 있는데, 이때도 같은 방식으로 다시 시도한다.
+     * 먼저 수락된 제안이 있으면 상품이 이미 판매중이 아니므로 다시 시도하지 않고 실패한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NegotiationResponse acceptNegotiation(final Long itemId, final Long negotiationId, final Long sellerId) {
+        return retryOnConflict(() -> {
+            Negotiation negotiation = findNegotiation(itemId, negotiationId);
+            if (!negotiation.getSeller().getId().equals(sellerId)) {
+                throw new MarketAppException(NOT_NEGOTIATION_MEMBER, NOT_NEGOTIATION_MEMBER.getMessage());
+            }
+            validateNegotiationStatus(negotiation, SUGGEST);
+
+            Item item = negotiation.getItem();
+            if (item.getStatus() != ItemStatus.SALE) {
+                throw new MarketAppException(ALREADY_ITEM_RESERVED, ALREADY_ITEM_RESERVED.getMessage());
+            }
+
+            negotiation.updateNegotiationStatus(ACCEPT);
+            item.updateStatus(ItemStatus.RESERVATION);
+            // 버전 확인(update ... where version = ?)을 먼저 실행하고 나서 나머지 제안을 거절한다.
+            negotiationRepository.flush();
+            negotiationRepository.rejectOtherNegotiations(negotiation.getId(), item.getId());
+
+            eventPublisher.publishEvent(ItemChangedEvent.saved(item));
+            return NegotiationResponse.of(negotiation);
+        });
+    }
+
+    /**
+     * 구매자가 수락된 제안을 확정한다. 제안은 확정, 상품은 판매완료로 한 트랜잭션에서 바뀐다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NegotiationResponse confirmNegotiation(final Long itemId, final Long negotiationId, final Long buyerId) {
+        return retryOnConflict(() -> {
+            Negotiation negotiation = findNegotiation(itemId, negotiationId);
+            if (!negotiation.getBuyer().getId().equals(buyerId)) {
+                throw new MarketAppException(NOT_NEGOTIATION_MEMBER, NOT_NEGOTIATION_MEMBER.getMessage());
+            }
+            validateNegotiationStatus(negotiation, ACCEPT);
+
+            Item item = negotiation.getItem();
+            if (item.getStatus() != ItemStatus.RESERVATION) {
+                throw new MarketAppException(INVALID_NEGOTIATION_STATUS, INVALID_NEGOTIATION_STATUS.getMessage());
+            }
+
+            negotiation.updateNegotiationStatus(CONFIRM);
+            item.updateStatus(ItemStatus.SOLD);
+            negotiationRepository.flush();
+
+            eventPublisher.publishEvent(ItemChangedEvent.saved(item));
+            return NegotiationResponse.of(negotiation);
+        });
     }
 
 //    @Transactional
@@ -81,22 +200,86 @@ public class NegotiationService {
 //        throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
 //    }
 
-    private void validateCannotNegotiateOwnItem(final Long buyerId, final Item item) {
-        if (item.getUser().getId().equals(buyerId)) {
+    private <T> T retryOnConflict(final Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new MarketAppException(CONCURRENT_UPDATE, CONCURRENT_UPDATE.getMessage());
+                }
+                log.debug("negotiation update conflict. retrying. attempt = {}", attempt);
+            }
+        }
+    }
+
+    private Negotiation findNegotiation(final Long itemId, final Long negotiationId) {
+        Negotiation negotiation = negotiationRepository.findById(negotiationId)
+                .orElseThrow(() -> new MarketAppException(NOT_FOUND_NEGOTIATION, NOT_FOUND_NEGOTIATION.getMessage()));
+        if (!negotiation.getItem().getId().equals(itemId)) {
+            throw new MarketAppException(NOT_FOUND_NEGOTIATION, NOT_FOUND_NEGOTIATION.getMessage());
+        }
+        return negotiation;
+    }
+
+    private void validateNegotiationStatus(final Negotiation negotiation, final NegotiationStatus status) {
+        if (negotiation.getStatus() != status) {
+            throw new MarketAppException(INVALID_NEGOTIATION_STATUS, INVALID_NEGOTIATION_STATUS.getMessage());
+        }
+    }
+
+    private void validateCannotNegotiateOwnItem(final Long buyerId, final NegotiationTarget target) {
+        if (target.sellerId().equals(buyerId)) {
             throw new MarketAppException(CANNOT_NEGOTIATION_OWN_ITEM, CANNOT_NEGOTIATION_OWN_ITEM.getMessage());
         }
     }
 
-    private void validateItemStatusIsSold(final Item item) {
-        if (item.getStatus().equals(ItemStatus.SOLD)) {
+    private void validateItemStatusIsSold(final NegotiationTarget target) {
+        if (target.itemStatus() == ItemStatus.SOLD) {
             throw new MarketAppException(ALREADY_ITEM_SOLD, ALREADY_ITEM_SOLD.getMessage());
         }
     }
 
-    private void validateDuplicateNegotiation(final Long itemId, final Long buyerId) {
-        negotiationRepository.findByItemIdAndBuyerId(itemId, buyerId)
-                .ifPresent(negotiation -> {
-                    throw new MarketAppException(ALREADY_USER_NEGOTIATION, ALREADY_USER_NEGOTIATION.getMessage());
-                });
+    private Negotiation saveNegotiation(final Long itemId, final NegotiationCreateRequestDto request,
+                                        final Long buyerId, final NegotiationTarget target) {
+        try {
+            return negotiationRepository.saveAndFlush(request.toEntity(itemRepository.getReferenceById(itemId),
+                    userRepository.getReferenceById(buyerId), userRepository.getReferenceById(target.sellerId())));
+        } catch (DataIntegrityViolationException e) {
+            // FK, NOT NULL 같은 다른 제약 위반은 중복 제안이 아니므로 그대로 던진다.
+            if (!isDuplicateNegotiation(e)) {
+                throw e;
+            }
+            throw new MarketAppException(ALREADY_USER_NEGOTIATION, ALREADY_USER_NEGOTIATION.getMessage());
+        }
+    }
+
+    // 동시에 다시 열면 버전이 달라져서 하나만 반영된다.
+    private Negotiation reopenNegotiation(final Long negotiationId, final NegotiationCreateRequestDto request) {
+        Negotiation negotiation = negotiationRepository.findById(negotiationId)
+                .orElseThrow(() -> new MarketAppException(NOT_FOUND_NEGOTIATION, NOT_FOUND_NEGOTIATION.getMessage()));
+        if (!negotiation.getStatus().isClosed()) {
+            throw new MarketAppException(ALREADY_USER_NEGOTIATION, ALREADY_USER_NEGOTIATION.getMessage());
+        }
+        negotiation.reopen(request.getSuggestedPrice());
+        negotiationRepository.flush();
+        return negotiation;
+    }
+
+    static boolean isDuplicateNegotiation(final DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraintName = violation.getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase(Locale.ROOT).contains(Negotiation.UNIQUE_ITEM_BUYER);
+            }
+        }
+        return false;
+    }
+
+    private void validateDuplicateNegotiation(final NegotiationTarget target) {
+        if (target.hasOpenNegotiation()) {
+            throw new MarketAppException(ALREADY_USER_NEGOTIATION, ALREADY_USER_NEGOTIATION.getMessage());
+        }
     }
 }
@@ -0,0 +1,12 @@
+package com.example.market.service.negotiation.event;
+
+import com.example.market.api.controller.negotiation.response.NegotiationResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public class NegotiationCreatedEvent {
+
+    private final NegotiationResponse negotiation;
+}
@@ -0,0 +1,13 @@
+package com.example.market.service.negotiation.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Getter
+public class NegotiationsExpiredEvent {
+
+    private final List<Long> negotiationIds;
+}
@@ -0,0 +1,153 @@
+package com.example.market.service.negotiation.expiry;
+
+import com.example.market.domain.negotiation.NegotiationDeadline;
+import com.example.market.domain.negotiation.NegotiationRepository;
+import com.example.market.service.negotiation.event.NegotiationCreatedEvent;
+import com.example.market.service.negotiation.event.NegotiationsExpiredEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 제안(SUGGEST)을 ttl 이 지나면 만료(EXPIRED)시킨다.
+ * 제안마다 작업을 예약하거나 테이블 전체를 주기적으로 훑지 않고, 마감 시각을 메모리의 타이머 휠에 넣어 두었다가
+ * flush-interval-ms 마다 그때까지 만료된 id 를 모아 batch-size 개씩 update ... where id in (...) 로 처리한다.
+ *
+ * 휠에는 이 서버에서 만든 제안과, 서버가 뜰 때 id 순으로 읽은 제안 상태의 제안만 들어간다.
+ * 그 사이 수락/거절된 제안은 만료 조건(status = SUGGEST)에서, 다시 열린 제안은 생성 시각 조건에서 걸러지므로 휠에서 따로 빼지 않는다.
+ *
+ * 서버가 여러 대면 다른 서버가 만든 제안은 이 서버의 휠에 없으므로, 만든 서버가 만료시키기 전에 내려가면 어느 휠에도 남지 않는다.
+ * 그래서 catch-up-interval-ms 마다 마감이 그보다 더 지난 제안을 (status, created_at) 인덱스로 batch-size 개까지 찾아 휠에 넣는다.
+ * 같은 제안을 여러 서버가 만료시키려고 해도 만료할 행을 select ... for update 로 잠근 뒤 실제로 바꾼 id 만 이벤트로 알리므로
+ * 한 제안의 만료는 한 서버에서만 알린다. 만료 이벤트와 순위표는 서버마다 따로라서 다른 서버의 순위표는
+ * 그 상품이 바뀌거나 LRU 로 밀려날 때까지 만료된 제안을 보여 줄 수 있다.
+ */
+@Slf4j
+@Component
+public class NegotiationExpiryScheduler {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int RELOAD_CHUNK_SIZE = 1000;
+
+    private final NegotiationRepository negotiationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+    private final long tickMs;
+    private final int batchSize;
+    private final long catchUpIntervalMs;
+    private final TimerWheel wheel;
+
+    public NegotiationExpiryScheduler(final NegotiationRepository negotiationRepository,
+                                      final TransactionTemplate transactionTemplate,
+                                      final ApplicationEventPublisher eventPublisher,
+                                      @Value("${market.negotiation.expiry.ttl-hours:72}") final long ttlHours,
+                                      @Value("${market.negotiation.expiry.tick-ms:1000}") final long tickMs,
+                                      @Value("${market.negotiation.expiry.batch-size:500}") final int batchSize,
+                                      @Value("${market.negotiation.expiry.catch-up-interval-ms:600000}") final long catchUpIntervalMs) {
+        this.negotiationRepository = negotiationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.tickMs = tickMs;
+        this.batchSize = batchSize;
+        this.catchUpIntervalMs = catchUpIntervalMs;
+        this.wheel = new TimerWheel(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNegotiationCreated(final NegotiationCreatedEvent event) {
+        schedule(event.getNegotiation().getId(), System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        long lastId = 0L;
+        int loaded = 0;
+        List<NegotiationDeadline> deadlines;
+        do {
+            deadlines = negotiationRepository.findSuggestedDeadlines(lastId, PageRequest.of(0, RELOAD_CHUNK_SIZE));
+            for (NegotiationDeadline deadline : deadlines) {
+                // 만료 기능 이전에 만들어진 제안은 생성 시각이 없으므로 지금부터 ttl 을 센다.
+                long createdAt = deadline.createdAt() == null
+                        ? System.currentTimeMillis()
+                        : deadline.createdAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                schedule(deadline.id(), createdAt);
+                lastId = deadline.id();
+            }
+            loaded += deadlines.size();
+        } while (deadlines.size() == RELOAD_CHUNK_SIZE);
+        log.info("negotiation expiry wheel loaded. pending = {}", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${market.negotiation.expiry.flush-interval-ms:5000}")
+    public void expire() {
+        List<Long> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(System.currentTimeMillis());
+        }
+
+        // 휠은 최대 한 칸 일찍 만료시킬 수 있으므로 그만큼 여유를 둔다. 그 뒤에 다시 열린 제안은 걸러진다.
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl).plus(Duration.ofMillis(tickMs));
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> ids = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                Integer updated = transactionTemplate.execute(status -> {
+                    List<Long> expirable = negotiationRepository.lockExpirableIds(ids, cutoff);
+                    if (expirable.isEmpty()) {
+                        return 0;
+                    }
+                    int count = negotiationRepository.expireNegotiations(expirable);
+                    eventPublisher.publishEvent(new NegotiationsExpiredEvent(List.copyOf(expirable)));
+                    return count;
+                });
+                log.debug("negotiations expired. candidates = {}, updated = {}", ids.size(), updated);
+            } catch (DataAccessException e) {
+                // 다음 주기에 다시 시도한다.
+                log.error("failed to expire negotiations", e);
+                synchronized (wheel) {
+                    ids.forEach(id -> wheel.add(id, 0L));
+                }
+            }
+        }
+    }
+
+    /**
+     * 어느 휠에도 없는 제안을 찾아 다음 expire() 에서 만료되도록 넣는다.
+     * 마감이 catch-up-interval-ms 보다 더 지난 제안만 보므로, 휠에 있는 제안을 휠보다 먼저 가져가는 일은 거의 없다.
+     */
+    @Scheduled(fixedDelayString = "${market.negotiation.expiry.catch-up-interval-ms:600000}",
+            initialDelayString = "${market.negotiation.expiry.catch-up-interval-ms:600000}")
+    public void catchUp() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl).minus(Duration.ofMillis(catchUpIntervalMs));
+        List<Long> overdue = negotiationRepository.findOverdueIds(cutoff, PageRequest.of(0, batchSize));
+        if (overdue.isEmpty()) {
+            return;
+        }
+
+        log.info("overdue negotiations found. count = {}", overdue.size());
+        synchronized (wheel) {
+            overdue.forEach(id -> wheel.add(id, 0L));
+        }
+    }
+
+    private void schedule(final long negotiationId, final long createdAtMs) {
+        synchronized (wheel) {
+            wheel.add(negotiationId, createdAtMs + ttl.toMillis());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.market.service.negotiation.expiry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 계층형 타이머 휠. 가장 아래 단계는 tick 간격의 칸 wheelSize 개로 tick * wheelSize 까지를 다루고,
+ * 그보다 먼 마감 시각은 한 칸이 아래 단계 한 바퀴인 위 단계에 넣는다(필요할 때 단계를 늘린다).
+ * 시계가 위 단계 칸의 시작에 닿으면 그 칸의 항목을 아래 단계로 내려 보낸다.
+ *
+ * 등록과 만료 모두 항목 수와 상관없이 O(1)(단계 수만큼)이고, 만료는 tick 단위로 최대 tick 만큼 일찍 날 수 있다.
+ * 취소는 지원하지 않는다. 만료된 id 를 처리하는 쪽에서 이미 끝난 항목을 걸러야 한다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다.
+ */
+class TimerWheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private final List<Long> due = new ArrayList<>();
+    private long currentTime; // 가장 아래 단계의 현재 칸 시작 시각, 항상 tickMs 의 배수
+
+    TimerWheel(final long tickMs, final int wheelSize, final long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        levels.add(newLevel());
+    }
+
+    void add(final long id, final long deadlineMs) {
+        if (deadlineMs < currentTime + tickMs) {
+            due.add(id);
+            return;
+        }
+
+        long tick = tickMs;
+        for (int level = 0; ; level++) {
+            long interval = tick * wheelSize;
+            long levelTime = currentTime - currentTime % tick;
+            if (deadlineMs < levelTime + interval) {
+                bucket(level, deadlineMs / tick).add(id, deadlineMs);
+                return;
+            }
+            tick = interval;
+        }
+    }
+
+    /**
+     * 시계를 nowMs 까지 돌리고 그동안 만료된 id 를 돌려준다.
+     */
+    List<Long> advance(final long nowMs) {
+        List<Long> expired = new ArrayList<>();
+        while (currentTime + tickMs <= nowMs) {
+            levels.get(0)[slot(currentTime / tickMs)].drainIdsTo(expired);
+            currentTime += tickMs;
+            cascade(1, tickMs * wheelSize);
+        }
+        expired.addAll(due);
+        due.clear();
+        return expired;
+    }
+
+    private void cascade(final int level, final long tick) {
+        if (level >= levels.size() || currentTime % tick != 0) {
+            return;
+        }
+        // 위 단계 칸이 먼저 이 단계로 내려와야 이 단계의 현재 칸이 다 채워진다.
+        cascade(level + 1, tick * wheelSize);
+
+        Bucket bucket = levels.get(level)[slot(currentTime / tick)];
+        long[] ids = bucket.ids();
+        long[] deadlines = bucket.deadlines();
+        int size = bucket.size;
+        bucket.clear();
+        for (int i = 0; i < size; i++) {
+            add(ids[i], deadlines[i]);
+        }
+    }
+
+    private Bucket bucket(final int level, final long virtualSlot) {
+        while (levels.size() <= level) {
+            levels.add(newLevel());
+        }
+        return levels.get(level)[slot(virtualSlot)];
+    }
+
+    private int slot(final long virtualSlot) {
+        return (int) (virtualSlot % wheelSize);
+    }
+
+    private Bucket[] newLevel() {
+        Bucket[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        return buckets;
+    }
+
+    // id 와 마감 시각을 박싱 없이 들고 있는 칸
+    private static final class Bucket {
+
+        private long[] ids = new long[0];
+        private long[] deadlines = new long[0];
+        private int size;
+
+        void add(final long id, final long deadlineMs) {
+            if (size == ids.length) {
+                int capacity = Math.max(4, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                deadlines = Arrays.copyOf(deadlines, capacity);
+            }
+            ids[size] = id;
+            deadlines[size] = deadlineMs;
+            size++;
+        }
+
+        void drainIdsTo(final List<Long> target) {
+            for (int i = 0; i < size; i++) {
+                target.add(ids[i]);
+            }
+            clear();
+        }
+
+        long[] ids() {
+            return ids;
+        }
+
+        long[] deadlines() {
+            return deadlines;
+        }
+
+        void clear() {
+            ids = new long[0];
+            deadlines = new long[0];
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.market.service.negotiation.leaderboard;
+
+import com.example.market.api.controller.negotiation.response.NegotiationResponse;
+import com.example.market.service.item.event.ItemChangedEvent;
+import com.example.market.service.negotiation.event.NegotiationCreatedEvent;
+import com.example.market.service.negotiation.event.NegotiationsExpiredEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * 상품마다 가격이 높은 제안 top-k 개를 들고 있는 순위표. 가격이 같으면 먼저 들어온(id 가 작은) 제안이 앞선다.
+ * 만료된 제안은 순위표에서 빠진다.
+ * 상품 수가 max-items 를 넘으면 가장 오래 안 본 상품부터 버린다(LRU).
+ *
+ * 제안이 등록되면 커밋 이후에 순위표에 넣는다. 상품 상태가 바뀌면(수락으로 다른 제안이 거절되는 등) 순위표를 버리고,
+ * 다음에 볼 때 DB 의 (item_id, suggested_price) 인덱스로 top-k 를 다시 읽는다.
+ */
+@Component
+public class NegotiationLeaderboard {
+
+    static final Comparator<NegotiationResponse> RANKING = Comparator
+            .comparingInt(NegotiationResponse::getSuggestedPrice).reversed()
+            .thenComparing(NegotiationResponse::getId);
+
+    private final int topK;
+    private final int maxItems;
+
+    // access-order LinkedHashMap 으로 LRU 를 만든다. 모든 접근은 this 로 동기화한다.
+    private final LinkedHashMap<Long, Board> boards = new LinkedHashMap<>(16, 0.75f, true);
+
+    public NegotiationLeaderboard(@Value("${market.negotiation.leaderboard.top-k:10}") final int topK,
+                                  @Value("${market.negotiation.leaderboard.max-items:10000}") final int maxItems) {
+        this.topK = topK;
+        this.maxItems = maxItems;
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    /**
+     * 상품의 제안을 순위대로 최대 limit(<= top-k) 개 돌려준다.
+     * 순위표가 없으면 loader(순위대로, 최대 top-k 개)로 채운다. 읽는 동안 등록된 제안은 합치고 만료된 제안은 빼며,
+     * 그동안 상품이 바뀌었으면 캐시하지 않는다. loader 는 락 밖에서 호출해서 DB 조회가 다른 상품의 이벤트 처리를 막지 않게 한다.
+     */
+    public List<NegotiationResponse> top(final Long itemId, final int limit, final Supplier<List<NegotiationResponse>> loader) {
+        Board board;
+        synchronized (this) {
+            board = boards.get(itemId);
+            if (board != null && board.loaded) {
+                return board.top(limit);
+            }
+            if (board == null) {
+                board = new Board(topK);
+                boards.put(itemId, board);
+                evict();
+            } else {
+                // 다른 요청이 채우는 중이면 기다리지 않고 DB 에서 읽는다.
+                board = null;
+            }
+        }
+
+        List<NegotiationResponse> loaded = loader.get();
+        if (board == null) {
+            return head(loaded, limit);
+        }
+        synchronized (this) {
+            if (boards.get(itemId) == board && !board.stale) {
+                if (!board.seed(loaded)) {
+                    // 만료로 빠진 자리를 채울 제안이 DB 에 더 있을 수 있으므로 다음 조회 때 다시 읽는다.
+                    boards.remove(itemId);
+                }
+                return board.top(limit);
+            }
+            if (boards.get(itemId) == board) {
+                boards.remove(itemId);
+            }
+        }
+        return head(loaded, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onNegotiationCreated(final NegotiationCreatedEvent event) {
+        Board board = boards.get(event.getNegotiation().getItemId());
+        if (board != null) {
+            board.add(event.getNegotiation());
+        }
+    }
+
+    /**
+     * 만료된 제안을 순위표에서 뺀다. 순위표 밖에 남은 제안이 있을 수 있으면(잘려 나간 적이 있으면) 순위표를 버린다.
+     * 아직 채우는 중인 순위표는 만료된 id 를 기억해 두었다가 DB 에서 읽은 목록을 넣을 때 뺀다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onNegotiationsExpired(final NegotiationsExpiredEvent event) {
+        Set<Long> expired = new HashSet<>(event.getNegotiationIds());
+        Iterator<Board> iterator = boards.values().iterator();
+        while (iterator.hasNext()) {
+            Board board = iterator.next();
+            if (!board.loaded) {
+                board.expiredWhileLoading.addAll(expired);
+                continue;
+            }
+            if (board.removeAll(expired) && !board.complete) {
+                board.stale = true;
+                iterator.remove();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onItemChanged(final ItemChangedEvent event) {
+        invalidate(event.getItemId());
+    }
+
+    synchronized void invalidate(final Long itemId) {
+        Board board = boards.remove(itemId);
+        if (board != null) {
+            board.stale = true;
+        }
+    }
+
+    private void evict() {
+        Iterator<Long> iterator = boards.keySet().iterator();
+        while (boards.size() > maxItems && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static List<NegotiationResponse> head(final List<NegotiationResponse> ranked, final int limit) {
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    private static final class Board {
+
+        private final int capacity;
+        private final TreeSet<NegotiationResponse> offers = new TreeSet<>(RANKING);
+        private final Set<Long> expiredWhileLoading = new HashSet<>();
+        private boolean loaded;
+        private boolean stale;
+        private boolean complete = true; // 상품의 진행 중인 제안이 모두 순위표 안에 있는지
+
+        Board(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        // 가득 차면 가장 낮은 제안을 버린다. 버린 제안은 더 높은 제안이 있는 한 top-k 에 다시 들어오지 않는다.
+        void add(final NegotiationResponse offer) {
+            offers.add(offer);
+            if (offers.size() > capacity) {
+                offers.pollLast();
+                complete = false;
+            }
+        }
+
+        /**
+         * DB 에서 읽은 목록을 넣는다. 읽는 동안 만료된 제안 때문에 잘린 목록에 빈자리가 생겼으면 false 를 돌려준다.
+         */
+        boolean seed(final List<NegotiationResponse> ranked) {
+            boolean dropped = false;
+            for (NegotiationResponse offer : ranked) {
+                if (expiredWhileLoading.contains(offer.getId())) {
+                    dropped = true;
+                    continue;
+                }
+                add(offer);
+            }
+            removeAll(expiredWhileLoading); // 읽는 동안 등록됐다가 바로 만료된 제안
+            expiredWhileLoading.clear();
+            if (ranked.size() >= capacity) {
+                complete = false;
+            }
+            loaded = true;
+            return !dropped || complete;
+        }
+
+        boolean removeAll(final Set<Long> negotiationIds) {
+            return offers.removeIf(offer -> negotiationIds.contains(offer.getId()));
+        }
+
+        List<NegotiationResponse> top(final int limit) {
+            List<NegotiationResponse> result = new ArrayList<>(Math.min(limit, offers.size()));
+            for (NegotiationResponse offer : offers) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(offer);
+            }
+            return result;
+        }
+    }
+}
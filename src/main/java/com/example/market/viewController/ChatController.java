@@ -1,9 +1,8 @@
 package com.example.market.viewController;
 
-import com.example.market.domain.chat.Chat;
-import com.example.market.domain.chat.ChatRoom;
-import com.example.market.domain.chat.ChatRepository;
-import com.example.market.domain.chat.ChatRoomRepository;
+import com.example.market.api.CursorResponse;
+import com.example.market.api.controller.chat.response.ChatResponse;
+import com.example.market.service.chat.ChatService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -18,8 +17,9 @@ import java.util.List;
 @Controller
 public class ChatController {
 
-    private final ChatRepository chatRepository;
-    private final ChatRoomRepository roomRepository;
+    private static final int RECENT_CHAT_SIZE = 50;
+
+    private final ChatService chatService;
 
     @GetMapping
     public String index() {
@@ -29,13 +29,10 @@ public class ChatController {
     @GetMapping("/{roomId}/{itemId}")
     public String enterRoom(@PathVariable Long roomId,
                             Model model) {
-        ChatRoom chatRoom = roomRepository.findById(roomId).get();
-        List<Chat> chats = chatRepository.customFindAllById(chatRoom);
-        for (Chat chat : chats) {
-            System.out.println("chat.getContent() = " + chat.getContent());
-        }
+        // 최근 메시지만 렌더링하고, 이전 메시지는 스크롤할 때 /chat/rooms/{roomId}/messages 로 불러온다.
+        List<ChatResponse> chats = chatService.readRecentChats(roomId, RECENT_CHAT_SIZE);
         model.addAttribute("messages", chats);
-//        System.out.println("chat.getId() = " + chat.getId());
+        model.addAttribute("nextCursor", chats.size() < RECENT_CHAT_SIZE ? null : CursorResponse.encode(chats.get(0).getId()));
 
         return "chat-room";
     }
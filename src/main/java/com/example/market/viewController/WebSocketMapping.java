@@ -1,18 +1,16 @@
 package com.example.market.viewController;
 
-import com.example.market.domain.chat.ChatRoom;
 import com.example.market.api.controller.chat.request.ChatMessageCreateDto;
-import com.example.market.domain.chat.ChatRepository;
-import com.example.market.domain.chat.ChatRoomRepository;
+import com.example.market.api.controller.chat.request.ChatPresenceDto;
+import com.example.market.service.chat.ChatMessageWriter;
+import com.example.market.service.chat.ChatPresenceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
+import java.security.Principal;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,29 +18,22 @@ import java.util.Map;
 public class WebSocketMapping {
 
     private final SimpMessagingTemplate simpMessagingTemplate;
-    private final ChatRepository chatRepository;
-    private final ChatRoomRepository roomRepository;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatPresenceService chatPresenceService;
 
+    // 보낸 사람은 CONNECT 때 인증된 사용자다. payload 의 writer 는 쓰지 않는다.
     @MessageMapping("/chat")
-    public void sendChat(ChatMessageCreateDto createDto,
-                         @Headers Map<String, Object> headers,
-                         @Header("nativeHeaders") Map<String, String> nativeHeaders) {
-        log.info(createDto.toString());
-        log.info(headers.toString());
-        log.info(nativeHeaders.toString());
-        for (String s : nativeHeaders.keySet()) {
-            log.info("header = {}", s);
-        }
-        for (Object value : nativeHeaders.values()) {
-            System.out.println("value = " + value);
-        }
-
-        ChatRoom chatRoom = roomRepository.findById(createDto.getRoomId()).get();
-        chatRepository.save(createDto.toEntity(chatRoom));
-        simpMessagingTemplate.convertAndSend(
-                String.format("/topic/%s", createDto.getRoomId()),
-                createDto
-        );
+    public void sendChat(ChatMessageCreateDto createDto, Principal principal) {
+        chatMessageWriter.write(createDto, Long.parseLong(principal.getName()), message -> simpMessagingTemplate.convertAndSend(
+                String.format("/topic/%s", message.getRoomId()),
+                message
+        ));
+    }
+
+    // 입력 중/읽음 표시. 저장하지 않고 /topic/{roomId}/presence 로만 전달한다. 보낸 사람은 CONNECT 때 인증된 사용자다.
+    @MessageMapping("/chat/presence")
+    public void sendPresence(ChatPresenceDto presence, Principal principal) {
+        chatPresenceService.publish(presence, Long.parseLong(principal.getName()));
     }
 
 //    @SubscribeMapping("/topic/{roomId}") // 입장할 때 누가 입장했는지(누가 연결되었는지)
@@ -0,0 +1,2 @@
+ALTER TABLE users MODIFY location POINT SRID 4326 NOT NULL;
+CREATE SPATIAL INDEX idx_users_location ON users (location);
@@ -142,6 +142,21 @@ class ItemControllerTest extends ControllerTestSupport {
                 .andExpect(jsonPath("$.data").isNotEmpty());
     }
 
+    @DisplayName("커서로 판매 상품을 조회할 때, 조회 개수는 1 이상 100 이하여야 한다.")
+    @Test
+    void readItemListByCursorWithInvalidLimit() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/items")
+                                .param("after", "")
+                                .param("limit", "0")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_LIMIT"))
+                .andExpect(jsonPath("$.message").value("조회 개수는 1 이상 100 이하여야 합니다."));
+    }
+
     @DisplayName("판매 상품을 전체 조회한다.")
     @Test
     void getSellingItems() throws Exception {
@@ -86,6 +86,49 @@ class NegotiationControllerTest extends ControllerTestSupport {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @DisplayName("받은 제안을 수락합니다.")
+    @Test
+    void acceptNegotiation() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        post("/items/{itemId}/proposals/{proposalId}/accept", 1L, 1L).with(csrf())
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+
+    @DisplayName("수락된 제안을 확정합니다.")
+    @Test
+    void confirmNegotiation() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        post("/items/{itemId}/proposals/{proposalId}/confirm", 1L, 1L).with(csrf())
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+
+    @DisplayName("상품에 받은 제안을 가격이 높은 순으로 불러온다.")
+    @Test
+    void getTopNegotiations() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/items/{itemId}/negotiations/top", 1L).with(csrf())
+                                .param("limit", "5")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+
     @DisplayName("가격을 제안 받은 내역을 불러온다. (내가 받은 제안들)")
     @Test
     void getReceivedNegotiationItems() throws Exception {
@@ -104,7 +104,13 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("data.status").type(STRING)
                                         .description("판매상태"),
                                 fieldWithPath("data.username").type(STRING)
-                                        .description("판매자")
+                                        .description("판매자"),
+                                fieldWithPath("data.imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL")
                         )
                 ));
     }
@@ -157,6 +163,12 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                         .description("판매상태"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("판매자"),
+                                fieldWithPath("data.content[].imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.content[].detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL"),
 
                                 fieldWithPath("data.last").
                                         description("마지막 페이지인지 여부"),
@@ -224,7 +236,13 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("data.status").type(STRING)
                                         .description("판매상태"),
                                 fieldWithPath("data.username").type(STRING)
-                                        .description("판매자")
+                                        .description("판매자"),
+                                fieldWithPath("data.imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL")
 
                         )
                 ));
@@ -283,7 +301,13 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("data.status").type(STRING)
                                         .description("판매상태"),
                                 fieldWithPath("data.username").type(STRING)
-                                        .description("판매자")
+                                        .description("판매자"),
+                                fieldWithPath("data.imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL")
                         )
                 ));
     }
@@ -326,7 +350,13 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("data.status").type(STRING)
                                         .description("판매상태"),
                                 fieldWithPath("data.username").type(STRING)
-                                        .description("판매자")
+                                        .description("판매자"),
+                                fieldWithPath("data.imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL")
 
                         )
                 ));
@@ -383,6 +413,12 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                         .description("판매상태"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("판매자"),
+                                fieldWithPath("data.content[].imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.content[].detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL"),
 
                                 fieldWithPath("data.last").
                                         description("마지막 페이지인지 여부"),
@@ -462,7 +498,13 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("data.status").type(STRING)
                                         .description("판매상태"),
                                 fieldWithPath("data.username").type(STRING)
-                                        .description("판매자")
+                                        .description("판매자"),
+                                fieldWithPath("data.imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL")
 
                         )
                 ));
@@ -520,6 +562,12 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                         .description("판매상태"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("판매자"),
+                                fieldWithPath("data.content[].imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.content[].detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL"),
 
                                 fieldWithPath("data.last").
                                         description("마지막 페이지인지 여부"),
@@ -603,6 +651,12 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                         .description("판매상태"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("판매자"),
+                                fieldWithPath("data.content[].imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.content[].detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL"),
 
                                 fieldWithPath("data.last").
                                         description("마지막 페이지인지 여부"),
@@ -687,6 +741,12 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                         .description("판매상태"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("판매자"),
+                                fieldWithPath("data.content[].imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.content[].detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL"),
 
                                 fieldWithPath("data.last").
                                         description("마지막 페이지인지 여부"),
@@ -770,6 +830,12 @@ public class ItemControllerDocsTest extends RestDocsSupport {
                                         .description("판매상태"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("판매자"),
+                                fieldWithPath("data.content[].imageUrl").type(STRING).optional()
+                                        .description("원본 이미지 URL"),
+                                fieldWithPath("data.content[].thumbnailUrl").type(STRING).optional()
+                                        .description("목록용 썸네일 이미지 URL"),
+                                fieldWithPath("data.content[].detailUrl").type(STRING).optional()
+                                        .description("상세용 이미지 URL"),
 
                                 fieldWithPath("data.last").
                                         description("마지막 페이지인지 여부"),
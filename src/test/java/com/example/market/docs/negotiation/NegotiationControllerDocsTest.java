@@ -96,7 +96,11 @@ public class NegotiationControllerDocsTest extends RestDocsSupport {
                                 fieldWithPath("data.username").type(STRING)
                                         .description("제안자"),
                                 fieldWithPath("data.itemId").type(NUMBER)
-                                        .description("상품 ID")
+                                        .description("상품 ID"),
+                                fieldWithPath("data.itemTitle").type(STRING)
+                                        .description("상품 제목").optional(),
+                                fieldWithPath("data.counterpartNickname").type(STRING)
+                                        .description("상대방 닉네임").optional()
                         )
                 ));
     }
@@ -148,6 +152,10 @@ public class NegotiationControllerDocsTest extends RestDocsSupport {
                                         .description("제안 가격"),
                                 fieldWithPath("data.content[].itemId").type(NUMBER)
                                         .description("아이템 ID"),
+                                fieldWithPath("data.content[].itemTitle").type(STRING)
+                                        .description("상품 제목"),
+                                fieldWithPath("data.content[].counterpartNickname").type(STRING)
+                                        .description("상대방 닉네임"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("구매 희망자"),
 
@@ -229,6 +237,10 @@ public class NegotiationControllerDocsTest extends RestDocsSupport {
                                         .description("제안 가격"),
                                 fieldWithPath("data.content[].itemId").type(NUMBER)
                                         .description("아이템 ID"),
+                                fieldWithPath("data.content[].itemTitle").type(STRING)
+                                        .description("상품 제목"),
+                                fieldWithPath("data.content[].counterpartNickname").type(STRING)
+                                        .description("상대방 닉네임"),
                                 fieldWithPath("data.content[].username").type(STRING)
                                         .description("구매 희망자"),
 
@@ -275,6 +287,8 @@ public class NegotiationControllerDocsTest extends RestDocsSupport {
                 .status(SUGGEST)
                 .username(username)
                 .itemId(itemId)
+                .itemTitle("상품 제목")
+                .counterpartNickname("상대방 닉네임")
                 .suggestedPrice(price)
                 .build();
     }
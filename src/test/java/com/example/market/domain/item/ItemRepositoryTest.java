@@ -1,6 +1,8 @@
 package com.example.market.domain.item;
 
+import com.example.market.api.controller.item.response.ItemResponse;
 import com.example.market.domain.user.Coordinate;
+import com.example.market.domain.user.SearchScope;
 import com.example.market.domain.user.User;
 import com.example.market.domain.user.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -78,9 +80,12 @@ class ItemRepositoryTest {
         itemRepository.saveAll(List.of(item1, item2, item3, item4));
 
         // when
-        Page<Item> items = itemRepository.customFindAllByDistance(PageRequest.of(0, 5), buyer.getLocation(), buyer.getSearchScope().getScope());
+        SearchScope searchScope = buyer.getSearchScope();
+        Page<ItemResponse> items = itemRepository.customFindAllByDistance(PageRequest.of(0, 5), buyer.getLocation(),
+                searchScope.toBoundingBox(buyer.getLocation()), searchScope.getScope());
 
         // then
+        assertThat(items.getTotalElements()).isEqualTo(3);
         assertThat(items).hasSize(3)
                 .extracting("title", "description", "status")
                 .containsExactlyInAnyOrder(
@@ -111,7 +116,7 @@ class ItemRepositoryTest {
         itemRepository.saveAll(List.of(item1, item2, item3, item4, anotherItem1, anotherItem2));
 
         // when
-        Page<Item> items = itemRepository.findAllByStatusInAndUserId(forDisplay(), PageRequest.of(0, 5), user.getId());
+        Page<ItemResponse> items = itemRepository.findAllByStatusInAndUserId(forDisplay(), PageRequest.of(0, 5), user.getId());
 
         // then
         assertThat(items).hasSize(3)
@@ -144,7 +149,7 @@ class ItemRepositoryTest {
         itemRepository.saveAll(List.of(item1, item2, item3, item4, anotherItem1, anotherItem2));
 
         // when
-        Page<Item> items = itemRepository.findAllByStatusAndUserId(forSold(), PageRequest.of(0, 5), user.getId());
+        Page<ItemResponse> items = itemRepository.findAllByStatusAndUserId(forSold(), PageRequest.of(0, 5), user.getId());
 
         // then
         assertThat(items).hasSize(1)
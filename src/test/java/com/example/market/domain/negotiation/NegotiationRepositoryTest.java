@@ -9,11 +9,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -113,6 +115,98 @@ class NegotiationRepositoryTest {
         assertThat(findNegotiation).isNotEmpty();
     }
 
+    @DisplayName("제안 등록에 필요한 상품 상태, 판매자, 구매자 이름, 이미 보낸 제안을 한 번에 조회한다.")
+    @Test
+    void findNegotiationTarget() {
+        // given
+        User seller = createSeller("seller");
+        User buyer = createBuyer("buyer1");
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller);
+        itemRepository.save(item);
+
+        Negotiation negotiation = negotiationRepository.save(createNegotiation(seller, buyer, item));
+
+        // when
+        Optional<NegotiationTarget> target = negotiationRepository.findNegotiationTarget(item.getId(), buyer.getId());
+
+        // then
+        assertThat(target).contains(new NegotiationTarget(ItemStatus.SALE, seller.getId(), "buyer1",
+                negotiation.getId(), NegotiationStatus.SUGGEST));
+    }
+
+    @DisplayName("만료 후보 중 아직 제안 상태이고 기준 시각 이전에 만들어진 제안만 잠그고 돌려준다.")
+    @Test
+    void lockExpirableIds() {
+        // given
+        User seller = createSeller("seller");
+        User buyer1 = createBuyer("buyer1");
+        User buyer2 = createBuyer("buyer2");
+        userRepository.saveAll(List.of(seller, buyer1, buyer2));
+
+        Item item = createItem(seller);
+        itemRepository.save(item);
+
+        Negotiation suggested = createNegotiation(seller, buyer1, item);
+        Negotiation rejected = createNegotiation(seller, buyer2, item);
+        rejected.updateNegotiationStatus(NegotiationStatus.REJECT);
+        negotiationRepository.saveAllAndFlush(List.of(suggested, rejected));
+        List<Long> ids = List.of(suggested.getId(), rejected.getId());
+
+        // when
+        List<Long> expirable = negotiationRepository.lockExpirableIds(ids, LocalDateTime.now().plusMinutes(1));
+        List<Long> tooRecent = negotiationRepository.lockExpirableIds(ids, LocalDateTime.now().minusMinutes(1));
+
+        // then
+        assertThat(expirable).containsExactly(suggested.getId());
+        assertThat(tooRecent).isEmpty();
+    }
+
+    @DisplayName("기준 시각 이전에 만들어졌는데 아직 제안 상태인 제안 id 를 조회한다.")
+    @Test
+    void findOverdueIds() {
+        // given
+        User seller = createSeller("seller");
+        User buyer1 = createBuyer("buyer1");
+        User buyer2 = createBuyer("buyer2");
+        userRepository.saveAll(List.of(seller, buyer1, buyer2));
+
+        Item item = createItem(seller);
+        itemRepository.save(item);
+
+        Negotiation suggested = createNegotiation(seller, buyer1, item);
+        Negotiation rejected = createNegotiation(seller, buyer2, item);
+        rejected.updateNegotiationStatus(NegotiationStatus.REJECT);
+        negotiationRepository.saveAllAndFlush(List.of(suggested, rejected));
+
+        // when
+        List<Long> overdue = negotiationRepository.findOverdueIds(LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10));
+        List<Long> tooRecent = negotiationRepository.findOverdueIds(LocalDateTime.now().minusMinutes(1), PageRequest.of(0, 10));
+
+        // then
+        assertThat(overdue).containsExactly(suggested.getId());
+        assertThat(tooRecent).isEmpty();
+    }
+
+    @DisplayName("같은 상품에 같은 구매자의 제안은 하나만 저장된다.")
+    @Test
+    void saveDuplicateNegotiation() {
+        // given
+        User seller = createSeller("seller");
+        User buyer = createBuyer("buyer1");
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller);
+        itemRepository.save(item);
+
+        negotiationRepository.save(createNegotiation(seller, buyer, item));
+
+        // when // then
+        assertThatThrownBy(() -> negotiationRepository.saveAndFlush(createNegotiation(seller, buyer, item)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @DisplayName("등록된 아이템에 내가 가격 제안을 보냈는지 확인한다. 보낸 제안이 없으면 응답값은 isEmpty()다.")
     @Test
     void findByItemIdAndBuyerIdWithNoNegotiation() {
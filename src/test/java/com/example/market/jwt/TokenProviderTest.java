@@ -0,0 +1,62 @@
+package com.example.market.jwt;
+
+import com.example.market.domain.user.Role;
+import com.example.market.domain.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenProviderTest {
+
+    private static final String SECRET = "aaaabbbsdifqbvaesoioegwaaaabbbsdidsfdsfdfsdfsdfsdfsdfsd";
+
+    private final TokenProvider tokenProvider = new TokenProvider(SECRET, 100);
+
+    @DisplayName("유효한 토큰이면 권한이 담긴 Authentication 을 돌려준다.")
+    @Test
+    void authenticate() {
+        // given
+        String token = tokenProvider.createAccessToken(User.builder().username("user").role(Role.USER).build());
+
+        // when
+        Authentication authentication = tokenProvider.authenticate(token);
+
+        // then
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+    }
+
+    @DisplayName("캐시된 토큰도 요청마다 새 Authentication 을 돌려준다.")
+    @Test
+    void authenticateCached() {
+        // given
+        String token = tokenProvider.createAccessToken(User.builder().username("user").role(Role.USER).build());
+        Authentication first = tokenProvider.authenticate(token);
+
+        // when
+        Authentication second = tokenProvider.authenticate(token);
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+    }
+
+    @DisplayName("서명이 맞지 않는 토큰이면 null 을 돌려준다.")
+    @Test
+    void authenticateWithTamperedToken() {
+        // given
+        String token = tokenProvider.createAccessToken(User.builder().username("user").role(Role.USER).build());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // when
+        Authentication authentication = tokenProvider.authenticate(tampered);
+
+        // then
+        assertThat(authentication).isNull();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.market.service.chat;
+
+import com.example.market.api.controller.chat.request.ChatMessageCreateDto;
+import com.example.market.domain.chat.ChatRoomMembers;
+import com.example.market.domain.chat.ChatRoomRepository;
+import com.example.market.exception.MarketAppException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ChatMessageWriterTest {
+
+    private static final Long BUYER_ID = 1L;
+    private static final Long SELLER_ID = 2L;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+
+    @DisplayName("모인 메시지 수만큼 값 목록을 가진 multi-row insert 문을 만든다.")
+    @Test
+    void insertSql() {
+        // when
+        String sql = ChatMessageWriter.insertSql(3);
+
+        // then
+        assertThat(sql).isEqualTo("insert into chat (chat_room_id, writer, content, created_at) values (?, ?, ?, ?), (?, ?, ?, ?), (?, ?, ?, ?)");
+    }
+
+    @DisplayName("sync 모드에서 저장에 실패하면 예외가 발생하고 브로드캐스트하지 않는다.")
+    @Test
+    void writeSyncWithSaveFailure() {
+        // given
+        ChatMessageWriter writer = createWriter("sync", 10);
+        failInsert();
+        AtomicInteger broadcasts = new AtomicInteger();
+
+        // when // then
+        assertThatThrownBy(() -> writer.write(createMessage(), BUYER_ID, message -> broadcasts.incrementAndGet()))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("서버 에러가 발생했습니다.");
+        assertThat(broadcasts.get()).isZero();
+    }
+
+    @DisplayName("write-behind 모드에서 큐가 가득 차면 먼저 저장하고, 저장에 실패하면 브로드캐스트하지 않는다.")
+    @Test
+    void writeBehindWithFullQueue() {
+        // given
+        ChatMessageWriter writer = createWriter("write-behind", 1);
+        failInsert();
+        AtomicInteger broadcasts = new AtomicInteger();
+        writer.write(createMessage(), BUYER_ID, message -> broadcasts.incrementAndGet());
+
+        // when // then
+        assertThatThrownBy(() -> writer.write(createMessage(), BUYER_ID, message -> broadcasts.incrementAndGet()))
+                .isInstanceOf(MarketAppException.class);
+        assertThat(broadcasts.get()).isEqualTo(1);
+    }
+
+    @DisplayName("보낸 사람은 payload 의 writer 가 아니라 세션 사용자의 채팅방 이름으로 저장하고 전달한다.")
+    @Test
+    void writeAsSessionUser() {
+        // given
+        ChatMessageWriter writer = createWriter("write-behind", 10);
+        AtomicReference<ChatMessageCreateDto> broadcasted = new AtomicReference<>();
+
+        // when
+        writer.write(createMessage(), SELLER_ID, broadcasted::set);
+
+        // then
+        assertThat(broadcasted.get().getWriter()).isEqualTo("seller");
+        assertThat(broadcasted.get().getContent()).isEqualTo("안녕하세요");
+    }
+
+    @DisplayName("채팅방 참여자가 아니면 메시지를 보낼 수 없다.")
+    @Test
+    void writeByNonMember() {
+        // given
+        ChatMessageWriter writer = createWriter("write-behind", 10);
+        AtomicInteger broadcasts = new AtomicInteger();
+
+        // when // then
+        assertThatThrownBy(() -> writer.write(createMessage(), 3L, message -> broadcasts.incrementAndGet()))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("채팅방 참여자가 아닙니다.");
+        assertThat(broadcasts.get()).isZero();
+    }
+
+    @DisplayName("종료된 뒤의 메시지는 큐에 넣지 않고 바로 저장한다.")
+    @Test
+    void writeAfterStop() {
+        // given
+        ChatMessageWriter writer = createWriter("write-behind", 10);
+        writer.stop();
+        failInsert();
+        AtomicInteger broadcasts = new AtomicInteger();
+
+        // when // then
+        assertThatThrownBy(() -> writer.write(createMessage(), BUYER_ID, message -> broadcasts.incrementAndGet()))
+                .isInstanceOf(MarketAppException.class);
+        assertThat(broadcasts.get()).isZero();
+    }
+
+    private ChatMessageWriter createWriter(final String mode, final int queueCapacity) {
+        when(chatRoomRepository.findMembers(1L))
+                .thenReturn(Optional.of(new ChatRoomMembers(BUYER_ID, "buyer", SELLER_ID, "seller")));
+        return new ChatMessageWriter(jdbcTemplate, chatRoomRepository, new RecentChatBuffer(50, 1024 * 1024, "simple"),
+                mode, queueCapacity, 500, 200, 0);
+    }
+
+    private void failInsert() {
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(KeyHolder.class)))
+                .thenThrow(new DataIntegrityViolationException("insert failed"));
+    }
+
+    private ChatMessageCreateDto createMessage() {
+        return new ChatMessageCreateDto(1L, "buyer", "안녕하세요");
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.market.service.chat;
+
+import com.example.market.api.controller.chat.request.ChatPresenceDto;
+import com.example.market.domain.chat.ChatRoomMembers;
+import com.example.market.domain.chat.ChatRoomRepository;
+import com.example.market.exception.MarketAppException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ChatPresenceServiceTest {
+
+    private static final Long BUYER_ID = 1L;
+    private static final Long SELLER_ID = 2L;
+
+    private final SimpMessagingTemplate simpMessagingTemplate = mock(SimpMessagingTemplate.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+    private final ChatPresenceService chatPresenceService = new ChatPresenceService(simpMessagingTemplate, jdbcTemplate,
+            new RecentChatBuffer(50, 1024 * 1024, "simple"), chatRoomRepository, 60_000);
+
+    @BeforeEach
+    void setUp() {
+        when(chatRoomRepository.findMembers(1L))
+                .thenReturn(Optional.of(new ChatRoomMembers(BUYER_ID, "buyer", SELLER_ID, "seller")));
+    }
+
+    @DisplayName("같은 사용자의 입력 중 이벤트는 coalesce 시간 동안 한 번만 전달한다.")
+    @Test
+    void publishCoalesced() {
+        // given
+        ChatPresenceDto typing = new ChatPresenceDto(1L, null, ChatPresenceDto.Type.TYPING, null);
+
+        // when
+        chatPresenceService.publish(typing, BUYER_ID);
+        chatPresenceService.publish(typing, BUYER_ID);
+        chatPresenceService.publish(typing, SELLER_ID);
+
+        // then
+        verify(simpMessagingTemplate, times(2)).convertAndSend(eq("/topic/1/presence"), any(Object.class));
+        verify(chatRoomRepository, times(1)).findMembers(1L);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @DisplayName("보낸 사람은 payload 의 writer 가 아니라 세션 사용자의 이름으로 전달한다.")
+    @Test
+    void publishWithSessionUser() {
+        // given
+        ChatPresenceDto spoofed = new ChatPresenceDto(1L, "seller", ChatPresenceDto.Type.TYPING, null);
+
+        // when
+        chatPresenceService.publish(spoofed, BUYER_ID);
+
+        // then
+        verify(simpMessagingTemplate).convertAndSend(eq("/topic/1/presence"),
+                argThat((Object payload) -> "buyer".equals(((ChatPresenceDto) payload).getWriter())));
+    }
+
+    @DisplayName("채팅방 참여자가 아니면 읽음 처리도 전달도 하지 않는다.")
+    @Test
+    void publishWithNotMember() {
+        // given
+        ChatPresenceDto read = new ChatPresenceDto(1L, "buyer", ChatPresenceDto.Type.READ, 10L);
+
+        // when // then
+        assertThatThrownBy(() -> chatPresenceService.publish(read, 3L))
+                .isInstanceOf(MarketAppException.class);
+        chatPresenceService.flushReads();
+        verifyNoInteractions(simpMessagingTemplate, jdbcTemplate);
+    }
+
+    @DisplayName("읽음 이벤트는 전달되지 않아도 가장 큰 읽은 위치를 모아 두었다가 구매자/판매자별로 한 번에 저장한다.")
+    @Test
+    void flushReads() {
+        // given
+        chatPresenceService.publish(new ChatPresenceDto(1L, null, ChatPresenceDto.Type.READ, 10L), BUYER_ID);
+        chatPresenceService.publish(new ChatPresenceDto(1L, null, ChatPresenceDto.Type.READ, 12L), BUYER_ID);
+
+        // when
+        chatPresenceService.flushReads();
+        chatPresenceService.flushReads();
+
+        // then
+        verify(simpMessagingTemplate, times(1)).convertAndSend(eq("/topic/1/presence"), any(Object.class));
+        verify(jdbcTemplate, times(1)).batchUpdate(argThat((String sql) -> sql.contains("r.buyer_id = ?")),
+                argThat((List<Object[]> args) -> args.size() == 1
+                        && args.get(0)[0].equals(12L) && args.get(0)[2].equals(BUYER_ID)));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+}
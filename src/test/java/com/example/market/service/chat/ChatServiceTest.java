@@ -0,0 +1,170 @@
+package com.example.market.service.chat;
+
+import com.example.market.IntegrationTestSupport;
+import com.example.market.api.CursorResponse;
+import com.example.market.api.controller.chat.response.ChatResponse;
+import com.example.market.api.controller.chat.response.ChatRoomListResponseDto;
+import com.example.market.domain.chat.Chat;
+import com.example.market.domain.chat.ChatRepository;
+import com.example.market.domain.chat.ChatRoom;
+import com.example.market.domain.chat.ChatRoomRepository;
+import com.example.market.domain.item.Item;
+import com.example.market.domain.item.ItemRepository;
+import com.example.market.domain.user.User;
+import com.example.market.domain.user.UserRepository;
+import com.example.market.exception.MarketAppException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static com.example.market.domain.item.ItemStatus.SALE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ChatServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void end() {
+        chatRepository.deleteAllInBatch();
+        chatRoomRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("채팅방 메시지를 커서 기반으로 최신순 조회한다.")
+    @Test
+    void readChatHistory() {
+        // given
+        User seller = createUser("판매자");
+        User buyer = createUser("구매자");
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller);
+        itemRepository.save(item);
+
+        ChatRoom chatRoom = chatRoomRepository.save(createChatRoom(item, buyer, seller));
+        Chat chat1 = createChat(chatRoom, "구매자", "내용1");
+        Chat chat2 = createChat(chatRoom, "구매자", "내용2");
+        Chat chat3 = createChat(chatRoom, "구매자", "내용3");
+        chatRepository.saveAll(List.of(chat1, chat2, chat3));
+
+        // when
+        CursorResponse<ChatResponse> first = chatService.readChatHistory(chatRoom.getId(), buyer.getId(), null, 2);
+        CursorResponse<ChatResponse> second = chatService.readChatHistory(chatRoom.getId(), buyer.getId(),
+                CursorResponse.decode(first.getNextCursor()), 2);
+
+        // then
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getContent())
+                .extracting("content")
+                .containsExactly("내용3", "내용2");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getContent())
+                .extracting("content")
+                .containsExactly("내용1");
+    }
+
+    @DisplayName("채팅방 목록에서 상대방이 보낸 안 읽은 메시지 수를 함께 조회한다.")
+    @Test
+    void getChatRooms() {
+        // given
+        User seller = createUser("판매자");
+        User buyer = createUser("구매자");
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller);
+        itemRepository.save(item);
+
+        ChatRoom chatRoom = chatRoomRepository.save(createChatRoom(item, buyer, seller));
+        chatRepository.saveAll(List.of(
+                createChat(chatRoom, "판매자", "내용1"),
+                createChat(chatRoom, "구매자", "내용2"),
+                createChat(chatRoom, "판매자", "내용3")
+        ));
+
+        // when
+        List<ChatRoomListResponseDto> before = chatService.getChatRooms(buyer.getId());
+        chatService.readChatRoom(chatRoom.getId(), buyer.getId());
+        List<ChatRoomListResponseDto> after = chatService.getChatRooms(buyer.getId());
+
+        // then
+        assertThat(before).hasSize(1)
+                .extracting("id", "unreadCount")
+                .containsExactly(tuple(chatRoom.getId(), 2L));
+        assertThat(after).hasSize(1)
+                .extracting("id", "unreadCount")
+                .containsExactly(tuple(chatRoom.getId(), 0L));
+    }
+
+    @DisplayName("채팅방 참여자가 아니면 메시지를 조회할 수 없다.")
+    @Test
+    void readChatHistoryWithNotMember() {
+        // given
+        User seller = createUser("판매자");
+        User buyer = createUser("구매자");
+        User anotherUser = createUser("다른회원");
+        userRepository.saveAll(List.of(seller, buyer, anotherUser));
+
+        Item item = createItem(seller);
+        itemRepository.save(item);
+
+        ChatRoom chatRoom = chatRoomRepository.save(createChatRoom(item, buyer, seller));
+
+        // when // then
+        assertThatThrownBy(() -> chatService.readChatHistory(chatRoom.getId(), anotherUser.getId(), null, 20))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("채팅방 참여자가 아닙니다.");
+    }
+
+    private User createUser(final String username) {
+        return User.builder()
+                .username(username)
+                .password("비밀번호")
+                .build();
+    }
+
+    private Item createItem(final User user) {
+        return Item.builder()
+                .title("제목")
+                .description("내용")
+                .minPriceWanted(10_000)
+                .status(SALE)
+                .user(user)
+                .build();
+    }
+
+    private ChatRoom createChatRoom(final Item item, final User buyer, final User seller) {
+        return ChatRoom.builder()
+                .item(item)
+                .buyer(buyer)
+                .seller(seller)
+                .build();
+    }
+
+    private Chat createChat(final ChatRoom chatRoom, final String writer, final String content) {
+        return Chat.builder()
+                .chatRoom(chatRoom)
+                .writer(writer)
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.market.service.chat;
+
+import com.example.market.api.controller.chat.response.ChatResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentChatBufferTest {
+
+    @DisplayName("처음 읽을 때만 DB 에서 채우고, 이후 저장된 메시지는 버퍼에 쌓인다.")
+    @Test
+    void recent() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(3, Long.MAX_VALUE, "simple");
+        AtomicInteger loads = new AtomicInteger();
+        buffer.recent(1L, () -> {
+            loads.incrementAndGet();
+            return List.of(createChat(2L, "내용2"), createChat(1L, "내용1"));
+        });
+
+        // when
+        buffer.append(createChat(3L, "내용3"));
+        buffer.append(createChat(4L, "내용4"));
+        List<ChatResponse> chats = buffer.recent(1L, List::of);
+
+        // then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(chats)
+                .extracting("content")
+                .containsExactly("내용4", "내용3", "내용2");
+    }
+
+    @DisplayName("버퍼보다 오래된 페이지는 버퍼에서 만들 수 없다.")
+    @Test
+    void page() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(3, Long.MAX_VALUE, "simple");
+        buffer.recent(1L, () -> List.of(createChat(5L, "내용5"), createChat(4L, "내용4"), createChat(3L, "내용3")));
+
+        // when
+        RecentChatBuffer.Page first = buffer.page(1L, null, 2);
+        RecentChatBuffer.Page second = buffer.page(1L, 4L, 2);
+
+        // then
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.content())
+                .extracting("content")
+                .containsExactly("내용5", "내용4");
+        assertThat(second).isNull();
+    }
+
+    @DisplayName("메모리 예산을 넘으면 가장 오래 안 쓴 채팅방부터 버린다.")
+    @Test
+    void evict() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(3, 250, "simple");
+        buffer.recent(1L, () -> List.of(createChat(1L, "내용1")));
+        buffer.recent(2L, () -> List.of(createChat(2L, "내용2")));
+
+        // when
+        buffer.recent(3L, () -> List.of(createChat(3L, "내용3")));
+
+        // then
+        assertThat(buffer.page(1L, null, 1)).isNull();
+        assertThat(buffer.page(3L, null, 1)).isNotNull();
+    }
+
+    @DisplayName("브로커를 여러 서버가 공유하는 모드에서는 버퍼를 쓰지 않고 매번 DB 에서 읽는다.")
+    @Test
+    void recentWithRelay() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(3, Long.MAX_VALUE, "relay");
+        AtomicInteger loads = new AtomicInteger();
+        buffer.recent(1L, () -> {
+            loads.incrementAndGet();
+            return List.of(createChat(1L, "내용1"));
+        });
+
+        // when
+        buffer.append(createChat(2L, "내용2"));
+        List<ChatResponse> chats = buffer.recent(1L, () -> {
+            loads.incrementAndGet();
+            return List.of(createChat(3L, "내용3"), createChat(1L, "내용1"));
+        });
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(chats).extracting("id").containsExactly(3L, 1L);
+        assertThat(buffer.page(1L, null, 1)).isNull();
+        assertThat(buffer.latestId(1L)).isNull();
+    }
+
+    private ChatResponse createChat(final Long id, final String content) {
+        return ChatResponse.builder()
+                .id(id)
+                .roomId(1L)
+                .writer("구매자")
+                .content(content)
+                .build();
+    }
+}
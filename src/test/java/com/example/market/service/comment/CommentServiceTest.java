@@ -1,6 +1,7 @@
 package com.example.market.service.comment;
 
 import com.example.market.IntegrationTestSupport;
+import com.example.market.api.CursorResponse;
 import com.example.market.domain.comment.Comment;
 import com.example.market.domain.item.Item;
 import com.example.market.domain.item.ItemStatus;
@@ -149,6 +150,31 @@ class CommentServiceTest extends IntegrationTestSupport {
         assertThat(commentResponses).hasSize(0);
     }
 
+    @DisplayName("댓글을 커서 기반으로 등록순 조회한다.")
+    @Test
+    void readCommentListByCursor() {
+        // given
+        User user = createUser();
+        userRepository.save(user);
+
+        Item item = createItem(user, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Comment comment1 = createComment(user, "내용1", item);
+        Comment comment2 = createComment(user, "내용2", item);
+        Comment comment3 = createComment(user, "내용3", item);
+        commentRepository.saveAll(List.of(comment1, comment2, comment3));
+
+        // when
+        CursorResponse<CommentResponse> commentResponses = commentService.readCommentListByCursor(item.getId(), comment1.getId(), 5);
+
+        // then
+        assertThat(commentResponses.isHasNext()).isFalse();
+        assertThat(commentResponses.getContent())
+                .extracting("content")
+                .containsExactly("내용2", "내용3");
+    }
+
     @DisplayName("등록된 댓글을 수정한다.")
     @Test
     void updateComment() {
@@ -0,0 +1,64 @@
+package com.example.market.service.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.example.market.service.item.ItemImageVariantGenerator.THUMBNAIL_WIDTH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemImageVariantGeneratorTest {
+
+    @DisplayName("원본 비율을 유지하면서 썸네일 너비로 줄인다.")
+    @Test
+    void resize() {
+        // given
+        BufferedImage original = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_ARGB);
+
+        // when
+        BufferedImage resized = ItemImageVariantGenerator.resize(original, THUMBNAIL_WIDTH, "jpg");
+
+        // then
+        assertThat(resized.getWidth()).isEqualTo(320);
+        assertThat(resized.getHeight()).isEqualTo(240);
+        assertThat(resized.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+    }
+
+    @DisplayName("원본이 목표 너비보다 작으면 키우지 않는다.")
+    @Test
+    void resizeSmallerThanTarget() {
+        // given
+        BufferedImage original = new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB);
+
+        // when
+        BufferedImage resized = ItemImageVariantGenerator.resize(original, THUMBNAIL_WIDTH, "png");
+
+        // then
+        assertThat(resized.getWidth()).isEqualTo(200);
+        assertThat(resized.getHeight()).isEqualTo(100);
+        assertThat(resized.getType()).isEqualTo(BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @DisplayName("헤더의 가로 * 세로가 최대 픽셀 수를 넘으면 디코딩하지 않는다.")
+    @Test
+    void readTooManyPixels(@TempDir final Path directory) throws IOException {
+        // given
+        File file = directory.resolve("image.png").toFile();
+        ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB), "png", file);
+
+        // when
+        BufferedImage rejected = ItemImageVariantGenerator.read(file, 19_999);
+        BufferedImage accepted = ItemImageVariantGenerator.read(file, 20_000);
+
+        // then
+        assertThat(rejected).isNull();
+        assertThat(accepted.getWidth()).isEqualTo(200);
+        assertThat(accepted.getHeight()).isEqualTo(100);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.market.service.item;
 
 import com.example.market.IntegrationTestSupport;
+import com.example.market.api.CursorResponse;
 import com.example.market.api.controller.item.request.ItemStatusUpdateRequest;
 import com.example.market.domain.item.Item;
 import com.example.market.domain.item.ItemStatus;
@@ -17,6 +18,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
 
 import static com.example.market.domain.item.ItemStatus.*;
@@ -118,6 +121,35 @@ class ItemServiceTest extends IntegrationTestSupport {
         assertThat(itemResponses).hasSize(0);
     }
 
+    @DisplayName("등록된 아이템을 커서 기반으로 조회한다. - 다음 커서로 이어서 조회할 수 있다.")
+    @Test
+    void readItemListByCursor() {
+        // given
+        User user = createUser();
+        userRepository.save(user);
+
+        Item item1 = createItem(user, 10_000, "제목1", "내용1", SALE);
+        Item item2 = createItem(user, 20_000, "제목2", "내용2", SALE);
+        Item item3 = createItem(user, 30_000, "제목3", "내용3", SOLD);
+        itemRepository.saveAll(List.of(item1, item2, item3));
+
+        // when
+        CursorResponse<ItemResponse> firstPage = itemService.readItemListByCursor(null, 2);
+        CursorResponse<ItemResponse> secondPage = itemService.readItemListByCursor(CursorResponse.decode(firstPage.getNextCursor()), 2);
+
+        // then
+        assertThat(firstPage.isHasNext()).isTrue();
+        assertThat(firstPage.getContent())
+                .extracting("title")
+                .containsExactly(item3.getTitle(), item2.getTitle());
+
+        assertThat(secondPage.isHasNext()).isFalse();
+        assertThat(secondPage.getNextCursor()).isNull();
+        assertThat(secondPage.getContent())
+                .extracting("title")
+                .containsExactly(item1.getTitle());
+    }
+
     @DisplayName("등록된 아이템을 단일 조회한다.")
     @Test
     void readItemOne() {
@@ -180,6 +212,33 @@ class ItemServiceTest extends IntegrationTestSupport {
                 .contains(request.getTitle(), request.getDescription(), request.getMinPriceWanted());
     }
 
+    @DisplayName("단일 조회한 아이템을 수정하면, 다시 조회할 때 수정된 내용이 조회된다.")
+    @Test
+    void readItemOneAfterUpdateItem() {
+        // given
+        User user = createUser();
+        userRepository.save(user);
+
+        Item item = createItem(user, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+        itemService.readItemOne(item.getId());
+
+        ItemUpdateRequestDto request = ItemUpdateRequestDto.builder()
+                .title("수정된 제목")
+                .minPriceWanted(20_000)
+                .description("수정된 내용")
+                .build();
+        itemService.updateItem(item.getId(), request, user.getId());
+
+        // when
+        ItemResponse itemResponse = itemService.readItemOne(item.getId());
+
+        // then
+        assertThat(itemResponse)
+                .extracting("title", "description", "minPriceWanted")
+                .contains(request.getTitle(), request.getDescription(), request.getMinPriceWanted());
+    }
+
     @DisplayName("등록된 아이템을 수정할 때, 본인이 등록한 아이템이 아닐 때 예외가 발생한다.")
     @Test
     void updateItemWithNotEqualWriter() {
@@ -317,6 +376,72 @@ class ItemServiceTest extends IntegrationTestSupport {
                 .hasMessage("작성자 정보가 일치하지 않습니다.");
     }
 
+    @DisplayName("등록된 아이템 이미지를 바꿀 때, 본인이 등록한 아이템이 아니면 예외가 발생한다.")
+    @Test
+    void updateItemImageWithNotEqualWriter() {
+        // given
+        User user = createUser();
+        User anotherUser = createUser();
+        userRepository.saveAll(List.of(user, anotherUser));
+
+        Item item = createItem(user, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        InputStream image = new ByteArrayInputStream(new byte[]{1, 2, 3});
+
+        // when // then
+        assertThatThrownBy(() -> itemService.updateItemImage(item.getId(), image, "jpg", anotherUser.getId()))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("작성자 정보가 일치하지 않습니다.");
+    }
+
+    @DisplayName("등록된 아이템 이미지를 바꿀 때, 이미지가 아닌 형식이면 예외가 발생한다.")
+    @Test
+    void updateItemImageWithInvalidType() {
+        // given
+        User user = createUser();
+        userRepository.save(user);
+
+        Item item = createItem(user, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        InputStream image = new ByteArrayInputStream(new byte[]{1, 2, 3});
+
+        // when // then
+        assertThatThrownBy(() -> itemService.updateItemImage(item.getId(), image, "html", user.getId()))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("지원하지 않는 이미지 형식입니다.");
+    }
+
+    @DisplayName("상태를 지정하지 않고 검색하면 판매완료 상품은 제외하고, SOLD 를 지정하면 판매완료 상품만 조회한다.")
+    @Test
+    void searchItemsWithStatus() {
+        // given
+        User user = createUser();
+        userRepository.save(user);
+
+        ItemResponse forSale = itemService.create(createRequest("캠핑 의자"), user.getId());
+        ItemResponse sold = itemService.create(createRequest("캠핑 테이블"), user.getId());
+        itemService.updateItemStatus(sold.getId(), ItemStatusUpdateRequest.builder().status(SOLD).build(), user.getId());
+
+        // when
+        Page<ItemResponse> items = itemService.searchItems("캠핑", List.of(), false, null, 0, 5);
+        Page<ItemResponse> soldItems = itemService.searchItems("캠핑", List.of(SOLD), false, null, 0, 5);
+
+        // then
+        assertThat(items.getContent()).extracting("id").containsExactly(forSale.getId());
+        assertThat(soldItems.getContent()).extracting("id").containsExactly(sold.getId());
+    }
+
+    @DisplayName("로그인하지 않고 내 주변 상품을 검색하면 예외가 발생한다.")
+    @Test
+    void searchItemsNearbyWithoutLogin() {
+        // when // then
+        assertThatThrownBy(() -> itemService.searchItems("캠핑", List.of(), true, null, 0, 5))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("로그인이 필요합니다.");
+    }
+
     @DisplayName("등록된 아이템 판매 상태를 수정한다.")
     @Test
     void updateItemStatus() {
@@ -476,6 +601,14 @@ class ItemServiceTest extends IntegrationTestSupport {
                 .build();
     }
 
+    private ItemCreateRequestDto createRequest(final String title) {
+        return ItemCreateRequestDto.builder()
+                .title(title)
+                .description("내용")
+                .minPriceWanted(10_000)
+                .build();
+    }
+
     private Item createItem(final User user, final int price, final String title, final String description, final ItemStatus status) {
         return Item.builder()
                 .title(title)
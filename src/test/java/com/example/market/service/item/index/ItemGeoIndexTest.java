@@ -0,0 +1,161 @@
+package com.example.market.service.item.index;
+
+import com.example.market.api.controller.item.response.ItemResponse;
+import com.example.market.domain.item.Item;
+import com.example.market.domain.item.ItemRepository;
+import com.example.market.domain.item.ItemStatus;
+import com.example.market.domain.user.User;
+import com.example.market.service.item.event.ItemChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static com.example.market.domain.item.ItemStatus.SALE;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemGeoIndexTest {
+
+    private final ItemGeoIndex itemGeoIndex = new ItemGeoIndex(null);
+
+    @DisplayName("반경 이내에 있는 상품만 id 내림차순으로 조회한다.")
+    @Test
+    void search() {
+        // given
+        itemGeoIndex.put(1L, createItem(1L, "제목1", SALE), createPoint(37.1, 127.1));
+        itemGeoIndex.put(2L, createItem(2L, "제목2", SALE), createPoint(37.2, 127.2));
+        itemGeoIndex.put(3L, createItem(3L, "제목3", SALE), createPoint(35.1, 126.1));
+
+        // when
+        Page<ItemResponse> items = itemGeoIndex.search(createPoint(37.3, 127.3), 200_000.0, PageRequest.of(0, 5));
+
+        // then
+        assertThat(items.getTotalElements()).isEqualTo(2);
+        assertThat(items.getContent())
+                .extracting("id", "title")
+                .containsExactly(
+                        tuple(2L, "제목2"),
+                        tuple(1L, "제목1")
+                );
+    }
+
+    @DisplayName("삭제된 상품은 조회되지 않는다.")
+    @Test
+    void remove() {
+        // given
+        itemGeoIndex.put(1L, createItem(1L, "제목1", SALE), createPoint(37.1, 127.1));
+        itemGeoIndex.put(2L, createItem(2L, "제목2", SALE), createPoint(37.1, 127.1));
+
+        // when
+        itemGeoIndex.remove(1L);
+
+        // then
+        Page<ItemResponse> items = itemGeoIndex.search(createPoint(37.1, 127.1), 35_000.0, PageRequest.of(0, 5));
+        assertThat(items.getContent())
+                .extracting("id")
+                .containsExactly(2L);
+    }
+
+    @DisplayName("여러 셀에 걸친 상품도 id 내림차순으로 이어서 페이지를 나눈다.")
+    @Test
+    void searchWithPaging() {
+        // given
+        itemGeoIndex.put(1L, createItem(1L, "제목1", SALE), createPoint(37.1, 127.1));
+        itemGeoIndex.put(2L, createItem(2L, "제목2", SALE), createPoint(37.5, 127.5));
+        itemGeoIndex.put(3L, createItem(3L, "제목3", SALE), createPoint(37.1, 127.1));
+        itemGeoIndex.put(4L, createItem(4L, "제목4", SALE), createPoint(37.5, 127.5));
+        itemGeoIndex.put(5L, createItem(5L, "제목5", SALE), createPoint(35.1, 126.1));
+
+        // when
+        Page<ItemResponse> items = itemGeoIndex.search(createPoint(37.3, 127.3), 200_000.0, PageRequest.of(1, 2));
+
+        // then
+        assertThat(items.getTotalElements()).isEqualTo(4);
+        assertThat(items.getContent())
+                .extracting("id")
+                .containsExactly(2L, 1L);
+    }
+
+    @DisplayName("전체 개수는 현재 페이지부터 정해진 페이지 수만큼까지만 센다.")
+    @Test
+    void searchWithCountLimit() {
+        // given
+        for (long id = 1; id <= 30; id++) {
+            itemGeoIndex.put(id, createItem(id, "제목" + id, SALE), createPoint(37.1, 127.1));
+        }
+
+        // when
+        Page<ItemResponse> items = itemGeoIndex.search(createPoint(37.1, 127.1), 35_000.0, PageRequest.of(0, 2));
+
+        // then
+        assertThat(items.getTotalElements()).isEqualTo(20);
+        assertThat(items.getContent())
+                .extracting("id")
+                .containsExactly(30L, 29L);
+    }
+
+    @DisplayName("적재 중에 삭제된 상품은 적재가 끝난 뒤에도 조회되지 않는다.")
+    @Test
+    void loadWithChangeDuringLoad() {
+        // given
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ItemGeoIndex loadingIndex = new ItemGeoIndex(itemRepository);
+        Item item = createItemEntity(1L, createPoint(37.1, 127.1));
+        when(itemRepository.findAllWithUserByStatusInAndIdGreaterThan(anyList(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    loadingIndex.onItemChanged(ItemChangedEvent.deleted(item));
+                    return List.of(item);
+                });
+
+        // when
+        loadingIndex.load();
+
+        // then
+        assertThat(loadingIndex.isReady()).isTrue();
+        assertThat(loadingIndex.search(createPoint(37.1, 127.1), 35_000.0, PageRequest.of(0, 5)).getContent())
+                .isEmpty();
+    }
+
+    private Item createItemEntity(final Long id, final Point location) {
+        User user = User.builder()
+                .username("아이디")
+                .location(location)
+                .build();
+        Item item = Item.builder()
+                .title("제목")
+                .description("내용")
+                .minPriceWanted(10_000)
+                .user(user)
+                .status(SALE)
+                .build();
+        ReflectionTestUtils.setField(item, "id", id);
+        return item;
+    }
+
+    private ItemResponse createItem(final Long id, final String title, final ItemStatus status) {
+        return ItemResponse.builder()
+                .id(id)
+                .title(title)
+                .description("내용")
+                .username("아이디")
+                .status(status)
+                .minPriceWanted(10_000)
+                .build();
+    }
+
+    private Point createPoint(final double lat, final double lng) {
+        GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+        return geometryFactory.createPoint(new Coordinate(lng, lat));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.market.service.item.index;
+
+import com.example.market.api.controller.item.response.ItemResponse;
+import com.example.market.domain.item.ItemStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static com.example.market.domain.item.ItemStatus.SALE;
+import static com.example.market.domain.item.ItemStatus.SOLD;
+import static org.assertj.core.api.Assertions.*;
+
+class ItemTextIndexTest {
+
+    private final ItemTextIndex itemTextIndex = new ItemTextIndex(null);
+
+    @DisplayName("제목과 내용에 검색어가 포함된 상품을 띄어쓰기와 관계없이 조회한다.")
+    @Test
+    void search() {
+        // given
+        itemTextIndex.put(1L, createItem(1L, "접이식자전거 팝니다", "거의 새것", SALE));
+        itemTextIndex.put(2L, createItem(2L, "아이패드", "자전거 타다가 받은 선물", SALE));
+        itemTextIndex.put(3L, createItem(3L, "자전", "거치대", SALE));
+
+        // when
+        Page<ItemResponse> items = itemTextIndex.search("자전거", List.of(), id -> true, PageRequest.of(0, 5));
+
+        // then
+        assertThat(items.getContent())
+                .extracting("id")
+                .containsExactly(2L, 1L);
+    }
+
+    @DisplayName("판매 상태로 검색 결과를 거를 수 있고, 수정된 상품은 수정된 내용으로 검색된다.")
+    @Test
+    void searchWithStatus() {
+        // given
+        itemTextIndex.put(1L, createItem(1L, "캠핑 의자", "내용", SALE));
+        itemTextIndex.put(2L, createItem(2L, "캠핑 테이블", "내용", SOLD));
+        itemTextIndex.put(1L, createItem(1L, "낚시 의자", "내용", SALE));
+
+        // when
+        Page<ItemResponse> items = itemTextIndex.search("캠핑", List.of(SALE, SOLD), id -> true, PageRequest.of(0, 5));
+        Page<ItemResponse> soldItems = itemTextIndex.search("캠핑", List.of(SALE), id -> true, PageRequest.of(0, 5));
+
+        // then
+        assertThat(items.getContent()).extracting("id").containsExactly(2L);
+        assertThat(soldItems.getContent()).isEmpty();
+    }
+
+    @DisplayName("전체 개수는 현재 페이지부터 10 페이지 분량까지만 센다.")
+    @Test
+    void searchWithCountLimit() {
+        // given
+        for (long id = 1; id <= 30; id++) {
+            itemTextIndex.put(id, createItem(id, "캠핑 의자", "내용", SALE));
+        }
+
+        // when
+        Page<ItemResponse> items = itemTextIndex.search("캠핑", List.of(), id -> true, PageRequest.of(0, 2));
+
+        // then
+        assertThat(items.getTotalElements()).isEqualTo(20);
+        assertThat(items.getContent()).extracting("id").containsExactly(30L, 29L);
+    }
+
+    private ItemResponse createItem(final Long id, final String title, final String description, final ItemStatus status) {
+        return ItemResponse.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .username("아이디")
+                .status(status)
+                .minPriceWanted(10_000)
+                .build();
+    }
+}
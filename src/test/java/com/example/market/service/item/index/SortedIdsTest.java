@@ -0,0 +1,60 @@
+package com.example.market.service.item.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedIdsTest {
+
+    @DisplayName("순서와 상관없이 넣어도 정렬된 상태를 유지하고, 같은 id 는 한 번만 들어간다.")
+    @Test
+    void add() {
+        // given
+        SortedIds ids = SortedIds.EMPTY;
+
+        // when
+        ids = ids.add(3L).add(5L).add(1L).add(4L).add(5L);
+
+        // then
+        assertThat(toArray(ids)).containsExactly(1L, 3L, 4L, 5L);
+    }
+
+    @DisplayName("뒤에 붙여도 이전에 만든 목록이 보는 id 는 바뀌지 않는다.")
+    @Test
+    void addKeepsPreviousSnapshot() {
+        // given
+        SortedIds before = SortedIds.EMPTY.add(1L).add(2L);
+
+        // when
+        SortedIds after = before.add(3L);
+        SortedIds removed = after.remove(3L).add(4L);
+
+        // then
+        assertThat(toArray(before)).containsExactly(1L, 2L);
+        assertThat(toArray(after)).containsExactly(1L, 2L, 3L);
+        assertThat(toArray(removed)).containsExactly(1L, 2L, 4L);
+    }
+
+    @DisplayName("두 목록에 모두 있는 id 만 남긴다.")
+    @Test
+    void intersect() {
+        // given
+        SortedIds left = SortedIds.EMPTY.add(1L).add(2L).add(4L).add(7L);
+        SortedIds right = SortedIds.EMPTY.add(2L).add(3L).add(7L);
+
+        // when
+        SortedIds intersected = left.intersect(right);
+
+        // then
+        assertThat(toArray(intersected)).containsExactly(2L, 7L);
+    }
+
+    private long[] toArray(final SortedIds ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.market.service.media;
+
+import com.example.market.exception.MarketAppException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.example.market.exception.ErrorCode.NOT_FOUND_MEDIA;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaFileResolverTest {
+
+    private final MediaFileResolver mediaFileResolver = new MediaFileResolver();
+
+    @DisplayName("media 폴더 밖의 파일은 조회할 수 없다.")
+    @Test
+    void resolveOutsideMediaRoot() {
+        // when // then
+        assertThatThrownBy(() -> mediaFileResolver.resolve("../build.gradle"))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage(NOT_FOUND_MEDIA.getMessage());
+    }
+
+    @DisplayName("존재하지 않는 파일은 조회할 수 없다.")
+    @Test
+    void resolveNotExistingFile() {
+        // when // then
+        assertThatThrownBy(() -> mediaFileResolver.resolve("0/not-exists.png"))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage(NOT_FOUND_MEDIA.getMessage());
+    }
+}
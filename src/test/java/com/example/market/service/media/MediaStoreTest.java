@@ -0,0 +1,65 @@
+package com.example.market.service.media;
+
+import com.example.market.domain.media.MediaObjectRepository;
+import com.example.market.exception.MarketAppException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class MediaStoreTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @DisplayName("해시 저장소 URL 에서 SHA-256 해시를 꺼낸다.")
+    @Test
+    void hashOf() {
+        // when
+        String hash = MediaStore.hashOf("/static/9f/86/" + HASH + ".jpg");
+
+        // then
+        assertThat(hash).isEqualTo(HASH);
+    }
+
+    @DisplayName("해시 저장소 이전의 상품 이미지 URL 은 참조 수를 세지 않는다.")
+    @Test
+    void hashOfLegacyUrl() {
+        // when
+        String hash = MediaStore.hashOf("/static/1/profile.jpg");
+
+        // then
+        assertThat(hash).isNull();
+    }
+
+    @DisplayName("업로드가 최대 크기를 넘으면 예외가 발생하고 임시 파일을 남기지 않는다.")
+    @Test
+    void storeTooLarge() throws IOException {
+        // given
+        MediaStore mediaStore = new MediaStore(mock(MediaObjectRepository.class), DataSize.ofBytes(4));
+        long tempFiles = countTempFiles();
+
+        // when // then
+        assertThatThrownBy(() -> mediaStore.store(new ByteArrayInputStream(new byte[16]), "jpg"))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("파일 크기가 너무 큽니다.");
+        assertThat(countTempFiles()).isEqualTo(tempFiles);
+    }
+
+    private long countTempFiles() throws IOException {
+        if (!Files.exists(MediaStore.TEMP_DIR)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(MediaStore.TEMP_DIR)) {
+            return files.count();
+        }
+    }
+}
@@ -12,13 +12,23 @@ import com.example.market.exception.MarketAppException;
 import com.example.market.domain.item.ItemRepository;
 import com.example.market.domain.negotiation.NegotiationRepository;
 import com.example.market.domain.user.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.example.market.domain.item.ItemStatus.SALE;
 import static com.example.market.domain.item.ItemStatus.SOLD;
@@ -96,6 +106,54 @@ class NegotiationServiceTest extends IntegrationTestSupport {
                 .hasMessage("이미 제안을 요청했습니다.");
     }
 
+    @DisplayName("제안이 만료되면 같은 구매자가 같은 상품에 다시 제안할 수 있고, 기존 제안이 새 가격으로 다시 열린다.")
+    @Test
+    void createProposalAfterExpired() {
+        // given
+        User seller = createUser();
+        User buyer = createUser();
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Negotiation expired = createNegotiation(seller, buyer, item, 5_000);
+        expired.updateNegotiationStatus(NegotiationStatus.EXPIRED);
+        negotiationRepository.save(expired);
+
+        NegotiationCreateRequestDto request = NegotiationCreateRequestDto.builder()
+                .status(SUGGEST)
+                .suggestedPrice(7_000)
+                .build();
+
+        // when
+        NegotiationResponse negotiation = negotiationService.createNegotiation(item.getId(), request, buyer.getId());
+
+        // then
+        assertThat(negotiation)
+                .extracting("id", "status", "suggestedPrice")
+                .containsExactly(expired.getId(), SUGGEST, 7_000);
+        assertThat(negotiationRepository.findAll()).hasSize(1)
+                .extracting("status", "suggestedPrice")
+                .containsExactly(tuple(SUGGEST, 7_000));
+    }
+
+    @DisplayName("(상품, 구매자) 유니크 제약 위반만 중복 제안으로 본다.")
+    @Test
+    void isDuplicateNegotiation() {
+        // given
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "negotiation.UK_NEGOTIATION_ITEM_BUYER"));
+        DataIntegrityViolationException foreignKey = new DataIntegrityViolationException("foreign key",
+                new ConstraintViolationException("foreign key", new SQLException(), "fk_negotiation_item"));
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null");
+
+        // when // then
+        assertThat(NegotiationService.isDuplicateNegotiation(duplicate)).isTrue();
+        assertThat(NegotiationService.isDuplicateNegotiation(foreignKey)).isFalse();
+        assertThat(NegotiationService.isDuplicateNegotiation(notNull)).isFalse();
+    }
+
     @DisplayName("등록된 아이템에 가격 제안을 등록할 때, 판매된 상품이면 예외가 발생한다.")
     @Test
     void createProposalWithItemStatusSOLD() {
@@ -198,6 +256,198 @@ class NegotiationServiceTest extends IntegrationTestSupport {
                 );
     }
 
+    @DisplayName("받은 제안과 보낸 제안 목록에는 상품 제목과 상대방 닉네임이 함께 담긴다.")
+    @Test
+    void getNegotiationItemsWithCounterpart() {
+        // given
+        User seller = User.builder().username("seller").password("비밀번호").nickname("판매자").build();
+        User buyer = User.builder().username("buyer").password("비밀번호").nickname("구매자").build();
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller, 10_000, "제목1", "내용", SALE);
+        itemRepository.save(item);
+
+        negotiationRepository.save(createNegotiation(seller, buyer, item, 7_000));
+
+        // when
+        Page<NegotiationResponse> received = negotiationService.getReceivedNegotiationItems(seller.getId(), 0);
+        Page<NegotiationResponse> sent = negotiationService.getSentNegotiationItems(buyer.getId(), 0);
+
+        // then
+        assertThat(received)
+                .extracting("itemTitle", "counterpartNickname", "username", "suggestedPrice")
+                .containsExactly(tuple("제목1", "구매자", "buyer", 7_000));
+        assertThat(sent)
+                .extracting("itemTitle", "counterpartNickname", "username", "suggestedPrice")
+                .containsExactly(tuple("제목1", "판매자", "buyer", 7_000));
+    }
+
+    @DisplayName("판매자가 제안을 수락하면 상품은 예약중이 되고 같은 상품의 다른 제안은 거절된다.")
+    @Test
+    void acceptNegotiation() {
+        // given
+        User seller = createUser();
+        User buyer1 = createUser();
+        User buyer2 = createUser();
+        userRepository.saveAll(List.of(seller, buyer1, buyer2));
+
+        Item item = createItem(seller, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Negotiation negotiation1 = createNegotiation(seller, buyer1, item, 7_000);
+        Negotiation negotiation2 = createNegotiation(seller, buyer2, item, 8_000);
+        negotiationRepository.saveAll(List.of(negotiation1, negotiation2));
+
+        // when
+        NegotiationResponse response = negotiationService.acceptNegotiation(item.getId(), negotiation2.getId(), seller.getId());
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(NegotiationStatus.ACCEPT);
+        assertThat(negotiationRepository.findAll())
+                .extracting("id", "status")
+                .containsExactlyInAnyOrder(
+                        tuple(negotiation1.getId(), NegotiationStatus.REJECT),
+                        tuple(negotiation2.getId(), NegotiationStatus.ACCEPT)
+                );
+        assertThat(itemRepository.findById(item.getId()).get().getStatus()).isEqualTo(ItemStatus.RESERVATION);
+    }
+
+    @DisplayName("같은 상품의 두 제안을 동시에 수락하면 하나만 수락되고 나머지는 예외가 발생한다.")
+    @Test
+    void acceptNegotiationConcurrently() throws Exception {
+        // given
+        User seller = createUser();
+        User buyer1 = createUser();
+        User buyer2 = createUser();
+        userRepository.saveAll(List.of(seller, buyer1, buyer2));
+
+        Item item = createItem(seller, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Negotiation negotiation1 = createNegotiation(seller, buyer1, item, 7_000);
+        Negotiation negotiation2 = createNegotiation(seller, buyer2, item, 8_000);
+        negotiationRepository.saveAll(List.of(negotiation1, negotiation2));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<NegotiationResponse>> results = new ArrayList<>();
+        for (Negotiation negotiation : List.of(negotiation1, negotiation2)) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return negotiationService.acceptNegotiation(item.getId(), negotiation.getId(), seller.getId());
+            }));
+        }
+
+        // when
+        start.countDown();
+        int accepted = 0;
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<NegotiationResponse> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                accepted++;
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(accepted).isEqualTo(1);
+        assertThat(failures).singleElement().isInstanceOf(MarketAppException.class);
+        assertThat(negotiationRepository.findAll())
+                .extracting("status")
+                .containsExactlyInAnyOrder(NegotiationStatus.ACCEPT, NegotiationStatus.REJECT);
+        assertThat(itemRepository.findById(item.getId()).get().getStatus()).isEqualTo(ItemStatus.RESERVATION);
+    }
+
+    @DisplayName("이미 다른 제안을 수락한 상품의 제안을 수락하면 예외가 발생한다.")
+    @Test
+    void acceptNegotiationWithReservedItem() {
+        // given
+        User seller = createUser();
+        User buyer1 = createUser();
+        User buyer2 = createUser();
+        userRepository.saveAll(List.of(seller, buyer1, buyer2));
+
+        Item item = createItem(seller, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Negotiation negotiation1 = createNegotiation(seller, buyer1, item, 7_000);
+        Negotiation negotiation2 = createNegotiation(seller, buyer2, item, 8_000);
+        negotiationRepository.saveAll(List.of(negotiation1, negotiation2));
+
+        negotiationService.acceptNegotiation(item.getId(), negotiation1.getId(), seller.getId());
+
+        // when // then
+        assertThatThrownBy(() -> negotiationService.acceptNegotiation(item.getId(), negotiation2.getId(), seller.getId()))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("처리할 수 없는 제안 상태입니다.");
+    }
+
+    @DisplayName("판매자가 아니면 제안을 수락할 수 없다.")
+    @Test
+    void acceptNegotiationWithoutSeller() {
+        // given
+        User seller = createUser();
+        User buyer = createUser();
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Negotiation negotiation = createNegotiation(seller, buyer, item, 7_000);
+        negotiationRepository.save(negotiation);
+
+        // when // then
+        assertThatThrownBy(() -> negotiationService.acceptNegotiation(item.getId(), negotiation.getId(), buyer.getId()))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("제안을 처리할 권한이 없습니다.");
+    }
+
+    @DisplayName("구매자가 수락된 제안을 확정하면 상품은 판매완료가 된다.")
+    @Test
+    void confirmNegotiation() {
+        // given
+        User seller = createUser();
+        User buyer = createUser();
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Negotiation negotiation = createNegotiation(seller, buyer, item, 7_000);
+        negotiationRepository.save(negotiation);
+        negotiationService.acceptNegotiation(item.getId(), negotiation.getId(), seller.getId());
+
+        // when
+        NegotiationResponse response = negotiationService.confirmNegotiation(item.getId(), negotiation.getId(), buyer.getId());
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(NegotiationStatus.CONFIRM);
+        assertThat(itemRepository.findById(item.getId()).get().getStatus()).isEqualTo(SOLD);
+    }
+
+    @DisplayName("수락되지 않은 제안을 확정하면 예외가 발생한다.")
+    @Test
+    void confirmNegotiationWithoutAccept() {
+        // given
+        User seller = createUser();
+        User buyer = createUser();
+        userRepository.saveAll(List.of(seller, buyer));
+
+        Item item = createItem(seller, 10_000, "제목", "내용", SALE);
+        itemRepository.save(item);
+
+        Negotiation negotiation = createNegotiation(seller, buyer, item, 7_000);
+        negotiationRepository.save(negotiation);
+
+        // when // then
+        assertThatThrownBy(() -> negotiationService.confirmNegotiation(item.getId(), negotiation.getId(), buyer.getId()))
+                .isInstanceOf(MarketAppException.class)
+                .hasMessage("처리할 수 없는 제안 상태입니다.");
+    }
+
 //    @DisplayName("제안의 상태를 변경(제안 -> 수락)하는 메서드 테스트")
 //    @Test
 //    void updateNegotiationStatus() {
@@ -0,0 +1,71 @@
+package com.example.market.service.negotiation.expiry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final int WHEEL_SIZE = 8;
+
+    @DisplayName("마감 시각이 지나야 만료되고, 한 번만 만료된다.")
+    @Test
+    void advance() {
+        // given
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, 0);
+        wheel.add(1L, 3_500);
+
+        // when
+        List<Long> early = wheel.advance(3_000);
+        List<Long> expired = wheel.advance(4_000);
+        List<Long> again = wheel.advance(10_000);
+
+        // then
+        assertThat(early).isEmpty();
+        assertThat(expired).containsExactly(1L);
+        assertThat(again).isEmpty();
+    }
+
+    @DisplayName("한 바퀴보다 먼 마감 시각은 위 단계에 있다가 내려와서 제때 만료된다.")
+    @Test
+    void advanceWithCascade() {
+        // given
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, 0);
+        wheel.add(1L, 9_500);   // 2단계
+        wheel.add(2L, 70_200);  // 3단계 (8 * 8 초 이후)
+        wheel.add(3L, 2_100);
+
+        // when
+        List<Long> expired = new ArrayList<>();
+        List<Long> expiredAt = new ArrayList<>();
+        for (long now = 1_000; now <= 80_000; now += 1_000) {
+            for (Long id : wheel.advance(now)) {
+                expired.add(id);
+                expiredAt.add(now);
+            }
+        }
+
+        // then
+        assertThat(expired).containsExactly(3L, 1L, 2L);
+        assertThat(expiredAt).containsExactly(3_000L, 10_000L, 71_000L);
+    }
+
+    @DisplayName("이미 지난 마감 시각은 다음에 시계를 돌릴 때 만료된다.")
+    @Test
+    void addPastDeadline() {
+        // given
+        TimerWheel wheel = new TimerWheel(TICK, WHEEL_SIZE, 5_000);
+        wheel.add(1L, 1_000);
+
+        // when
+        List<Long> expired = wheel.advance(5_000);
+
+        // then
+        assertThat(expired).containsExactly(1L);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.market.service.negotiation.leaderboard;
+
+import com.example.market.api.controller.negotiation.response.NegotiationResponse;
+import com.example.market.domain.negotiation.NegotiationStatus;
+import com.example.market.service.negotiation.event.NegotiationCreatedEvent;
+import com.example.market.service.negotiation.event.NegotiationsExpiredEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegotiationLeaderboardTest {
+
+    private static final Long ITEM_ID = 1L;
+
+    @DisplayName("가격이 높은 순으로, 가격이 같으면 먼저 들어온 순으로 top-k 개만 남긴다.")
+    @Test
+    void top() {
+        // given
+        NegotiationLeaderboard leaderboard = new NegotiationLeaderboard(3, 100);
+        leaderboard.top(ITEM_ID, 3, List::of);
+
+        // when
+        leaderboard.onNegotiationCreated(created(1L, 5_000));
+        leaderboard.onNegotiationCreated(created(2L, 9_000));
+        leaderboard.onNegotiationCreated(created(3L, 7_000));
+        leaderboard.onNegotiationCreated(created(4L, 9_000));
+
+        // then
+        assertThat(leaderboard.top(ITEM_ID, 3, List::of))
+                .extracting("id")
+                .containsExactly(2L, 4L, 3L);
+    }
+
+    @DisplayName("순위표가 채워진 뒤에는 DB 에서 다시 읽지 않는다.")
+    @Test
+    void topCached() {
+        // given
+        NegotiationLeaderboard leaderboard = new NegotiationLeaderboard(3, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        leaderboard.top(ITEM_ID, 3, () -> {
+            loads.incrementAndGet();
+            return List.of(offer(1L, 8_000));
+        });
+        List<NegotiationResponse> top = leaderboard.top(ITEM_ID, 3, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(top).extracting("id").containsExactly(1L);
+    }
+
+    @DisplayName("상품이 바뀌면 순위표를 버리고 다음 조회 때 DB 에서 다시 읽는다.")
+    @Test
+    void onItemChanged() {
+        // given
+        NegotiationLeaderboard leaderboard = new NegotiationLeaderboard(3, 100);
+        leaderboard.top(ITEM_ID, 3, () -> List.of(offer(1L, 8_000), offer(2L, 6_000)));
+
+        // when
+        leaderboard.onNegotiationCreated(created(3L, 9_000));
+        leaderboard.invalidate(ITEM_ID);
+
+        // then
+        assertThat(leaderboard.top(ITEM_ID, 3, () -> List.of(offer(1L, 8_000))))
+                .extracting("id")
+                .containsExactly(1L);
+    }
+
+    @DisplayName("순위표를 채우는 동안 만료된 제안은 DB 에서 읽은 목록에 있어도 순위표에 넣지 않는다.")
+    @Test
+    void onNegotiationsExpiredWhileLoading() {
+        // given
+        NegotiationLeaderboard leaderboard = new NegotiationLeaderboard(3, 100);
+
+        // when
+        List<NegotiationResponse> top = leaderboard.top(ITEM_ID, 3, () -> {
+            leaderboard.onNegotiationsExpired(new NegotiationsExpiredEvent(List.of(1L)));
+            return List.of(offer(1L, 8_000), offer(2L, 6_000));
+        });
+
+        // then
+        assertThat(top).extracting("id").containsExactly(2L);
+        assertThat(leaderboard.top(ITEM_ID, 3, List::of)).extracting("id").containsExactly(2L);
+    }
+
+    @DisplayName("다른 요청이 순위표를 채우는 중이면 락을 잡지 않은 채 DB 에서 읽는다.")
+    @Test
+    void topWhileLoading() {
+        // given
+        NegotiationLeaderboard leaderboard = new NegotiationLeaderboard(3, 100);
+
+        // when
+        List<NegotiationResponse> top = leaderboard.top(ITEM_ID, 3, () -> {
+            List<NegotiationResponse> concurrent = leaderboard.top(ITEM_ID, 3, () -> {
+                assertThat(Thread.holdsLock(leaderboard)).isFalse();
+                return List.of(offer(1L, 8_000));
+            });
+            assertThat(concurrent).extracting("id").containsExactly(1L);
+            return List.of(offer(1L, 8_000));
+        });
+
+        // then
+        assertThat(top).extracting("id").containsExactly(1L);
+    }
+
+    private NegotiationCreatedEvent created(final Long id, final int price) {
+        return new NegotiationCreatedEvent(offer(id, price));
+    }
+
+    private NegotiationResponse offer(final Long id, final int price) {
+        return NegotiationResponse.builder()
+                .id(id)
+                .suggestedPrice(price)
+                .status(NegotiationStatus.SUGGEST)
+                .username("buyer" + id)
+                .itemId(ITEM_ID)
+                .build();
+    }
+}